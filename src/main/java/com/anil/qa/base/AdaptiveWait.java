@@ -0,0 +1,150 @@
+package com.anil.qa.base;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Wait;
+import com.anil.qa.utils.ConfigManager;
+
+/**
+ * AdaptiveWait is a drop-in replacement for WebDriverWait that polls
+ * aggressively at first and backs off along a configurable schedule. The
+ * condition is evaluated immediately, so elements that are already ready cost
+ * a single check. Every wait is recorded in {@link WaitStatistics}.
+ */
+public class AdaptiveWait implements Wait<WebDriver> {
+    /** Default poll schedule in milliseconds; the last interval repeats. */
+    private static final String DEFAULT_SCHEDULE = "10,25,50,100,250,500";
+
+    /** WebDriver the conditions are evaluated against. */
+    private final WebDriver driver;
+    /** Maximum time to wait. */
+    private final Duration timeout;
+    /** Poll intervals in milliseconds; the last one repeats. */
+    private final long[] schedule;
+    /** Exception types treated as "not ready yet". */
+    private final List<Class<? extends Throwable>> ignored = new ArrayList<>();
+
+    /**
+     * Constructs an AdaptiveWait.
+     * @param webDriver the WebDriver instance
+     * @param timeoutDuration the maximum time to wait
+     * @param pollScheduleMillis poll intervals in milliseconds
+     */
+    public AdaptiveWait(final WebDriver webDriver, final Duration timeoutDuration,
+            final long... pollScheduleMillis) {
+        if (pollScheduleMillis.length == 0) {
+            throw new IllegalArgumentException("Poll schedule must not be empty");
+        }
+        this.driver = webDriver;
+        this.timeout = timeoutDuration;
+        this.schedule = pollScheduleMillis.clone();
+        this.ignored.add(NotFoundException.class);
+    }
+
+    /**
+     * Creates an AdaptiveWait using wait.time.seconds and wait.poll.schedule.
+     * @param webDriver the WebDriver instance
+     * @return the AdaptiveWait
+     */
+    public static AdaptiveWait fromConfig(final WebDriver webDriver) {
+        int waitTime = Integer.parseInt(
+            ConfigManager.getProperty("wait.time.seconds", "30")
+        );
+        long[] schedule = Arrays.stream(
+                ConfigManager.getProperty("wait.poll.schedule", DEFAULT_SCHEDULE).split(","))
+                .map(String::trim)
+                .mapToLong(Long::parseLong)
+                .toArray();
+        return new AdaptiveWait(webDriver, Duration.ofSeconds(waitTime), schedule);
+    }
+
+    /**
+     * Adds exception types that are ignored while polling.
+     * @param types the exception types
+     * @return this AdaptiveWait
+     */
+    @SafeVarargs
+    public final AdaptiveWait ignoring(final Class<? extends Throwable>... types) {
+        ignored.addAll(Arrays.asList(types));
+        return this;
+    }
+
+    /**
+     * Waits until the condition returns neither null nor false, recording the
+     * wait under the condition's description.
+     * @param condition the condition, e.g. an ExpectedCondition
+     * @param <V> the condition's return type
+     * @return the condition's value
+     */
+    @Override
+    public <V> V until(final Function<? super WebDriver, V> condition) {
+        return until(condition, String.valueOf(condition));
+    }
+
+    /**
+     * Waits until the condition returns neither null nor false, recording the
+     * wait under the given key.
+     * @param condition the condition, e.g. an ExpectedCondition
+     * @param key the statistics key, typically the element's locator
+     * @param <V> the condition's return type
+     * @return the condition's value
+     */
+    public <V> V until(final Function<? super WebDriver, V> condition, final String key) {
+        long start = System.nanoTime();
+        long end = start + timeout.toNanos();
+        int attempt = 0;
+        RuntimeException lastException = null;
+        while (true) {
+            try {
+                V value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    WaitStatistics.record(key, System.nanoTime() - start, attempt == 0, false);
+                    return value;
+                }
+            } catch (final RuntimeException e) {
+                if (!isIgnored(e)) {
+                    throw e;
+                }
+                lastException = e;
+            }
+            long remaining = end - System.nanoTime();
+            if (remaining <= 0) {
+                WaitStatistics.record(key, System.nanoTime() - start, false, true);
+                throw new TimeoutException(String.format(
+                        "Expected condition failed: waiting for %s (tried for %d second(s) "
+                        + "with adaptive polling)", condition, timeout.getSeconds()),
+                        lastException);
+            }
+            long interval = schedule[Math.min(attempt, schedule.length - 1)];
+            sleep(Math.min(TimeUnit.MILLISECONDS.toNanos(interval), remaining));
+            attempt++;
+        }
+    }
+
+    private boolean isIgnored(final RuntimeException e) {
+        for (Class<? extends Throwable> type : ignored) {
+            if (type.isInstance(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void sleep(final long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException(e);
+        }
+    }
+}
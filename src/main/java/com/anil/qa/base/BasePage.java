@@ -1,27 +1,147 @@
 package com.anil.qa.base;
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import io.qameta.allure.Step;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.InvalidElementStateException;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
 import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.interactions.MoveTargetOutOfBoundsException;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import com.anil.qa.utils.ConfigManager;
 import com.anil.qa.utils.ReportManager;
 public class BasePage<T extends BasePage<T>> {
     /** WebDriver instance. */
     private final WebDriver driver;
-    /** WebDriverWait instance. */
-    private final WebDriverWait wait;
+    /** AdaptiveWait instance. */
+    private final AdaptiveWait wait;
     /** Actions instance. */
     private final Actions actions;
     /** JavascriptExecutor instance. */
     private final JavascriptExecutor js;
+    /** Cached element field metadata of this page class. */
+    private final PageFields fields;
+    /** Maximum time a scroll waits for the element to settle. */
+    private final long scrollTimeoutMs;
+
+    /**
+     * Async script that scrolls an element into view (unless it already is)
+     * and resolves once its position is unchanged for two checks. Checks run
+     * on the next animation frame or after 50 ms, whichever comes first, and
+     * a timer resolves false at the timeout.
+     */
+    private static final String SCROLL_SCRIPT =
+        "var el = arguments[0], timeout = arguments[1],"
+        + " done = arguments[arguments.length - 1];"
+        + "function inView(r) {"
+        + "  return r.top >= 0 && r.left >= 0"
+        + "    && r.bottom <= window.innerHeight && r.right <= window.innerWidth;"
+        + "}"
+        + "if (inView(el.getBoundingClientRect())) { done(true); return; }"
+        + "el.scrollIntoView(true);"
+        + "var last = null, stable = 0, finished = false;"
+        + "function finish(result) { if (!finished) { finished = true; done(result); } }"
+        // rAF is paused in background windows and some headless setups, so each
+        // step also has a timer, and the deadline does not depend on either
+        + "function next() {"
+        + "  var fired = false;"
+        + "  function step() { if (!fired) { fired = true; check(); } }"
+        + "  window.requestAnimationFrame(step);"
+        + "  setTimeout(step, 50);"
+        + "}"
+        + "function check() {"
+        + "  if (finished) { return; }"
+        + "  var r = el.getBoundingClientRect();"
+        + "  stable = last && r.top === last.top && r.left === last.left ? stable + 1 : 0;"
+        + "  last = r;"
+        + "  if (stable >= 2) { finish(inView(r) || r.top === 0); return; }"
+        + "  next();"
+        + "}"
+        + "setTimeout(function() { finish(false); }, timeout);"
+        + "next();";
+
+    /**
+     * Script that sets the value of each field and fires input and change
+     * events. Returns the descriptions of fields it could not fill.
+     */
+    private static final String FILL_SCRIPT =
+        PageFields.LOCATE_FUNCTION
+        + "var items = arguments[0], failed = [];"
+        + "function setNative(el, proto, prop, value) {"
+        + "  var desc = Object.getOwnPropertyDescriptor(proto, prop);"
+        + "  if (desc && desc.set) { desc.set.call(el, value); } else { el[prop] = value; }"
+        + "}"
+        + "for (var i = 0; i < items.length; i++) {"
+        + "  var item = items[i], value = item.value;"
+        + "  var el = item.el || locate(item.how, item.using);"
+        + "  if (!el) { failed.push(item.name + ' not found'); continue; }"
+        + "  if (el.disabled || el.readOnly) { failed.push(item.name + ' is not editable'); continue; }"
+        + "  var tag = el.tagName.toLowerCase(), type = (el.type || '').toLowerCase();"
+        + "  if (tag === 'select') {"
+        + "    var index = -1;"
+        + "    for (var j = 0; j < el.options.length; j++) {"
+        + "      var o = el.options[j];"
+        + "      if (o.value === value || o.text.trim() === value) { index = j; break; }"
+        + "    }"
+        + "    if (index < 0) { failed.push(item.name + ' has no option ' + value); continue; }"
+        + "    el.selectedIndex = index;"
+        + "  } else if (type === 'checkbox' || type === 'radio') {"
+        + "    setNative(el, HTMLInputElement.prototype, 'checked', value === 'true');"
+        + "  } else if (el.isContentEditable) {"
+        + "    el.textContent = value;"
+        + "  } else {"
+        + "    setNative(el, tag === 'textarea' ? HTMLTextAreaElement.prototype"
+        + "      : HTMLInputElement.prototype, 'value', value);"
+        + "  }"
+        + "  el.dispatchEvent(new Event('input', { bubbles: true }));"
+        + "  el.dispatchEvent(new Event('change', { bubbles: true }));"
+        + "}"
+        + "return failed;";
+
+    /**
+     * Script that collects the state of each element. Returns one map per
+     * element with present, displayed, enabled, selected, text and attributes.
+     */
+    private static final String SNAPSHOT_SCRIPT =
+        PageFields.LOCATE_FUNCTION
+        + "var items = arguments[0], names = arguments[1], result = [];"
+        + "for (var i = 0; i < items.length; i++) {"
+        + "  var item = items[i], el = item.el || locate(item.how, item.using);"
+        + "  if (!el) {"
+        + "    result.push({ present: false, displayed: false, enabled: false,"
+        + "      selected: false, text: '', attributes: {} });"
+        + "    continue;"
+        + "  }"
+        + "  var style = window.getComputedStyle(el);"
+        + "  var displayed = el.getClientRects().length > 0"
+        + "    && style.visibility !== 'hidden' && style.display !== 'none';"
+        + "  var attributes = {};"
+        + "  for (var j = 0; j < names.length; j++) {"
+        + "    attributes[names[j]] = el.getAttribute(names[j]);"
+        + "  }"
+        + "  result.push({"
+        + "    present: true,"
+        + "    displayed: displayed,"
+        + "    enabled: !el.disabled,"
+        + "    selected: !!(el.checked || el.selected),"
+        + "    text: displayed ? (el.innerText || '').trim() : '',"
+        + "    attributes: attributes"
+        + "  });"
+        + "}"
+        + "return result;";
 
     /**
      * Constructs a BasePage object.
@@ -29,13 +149,14 @@ public class BasePage<T extends BasePage<T>> {
      */
     protected BasePage(final WebDriver webDriver) {
         this.driver = webDriver;
-        int waitTime = Integer.parseInt(
-            ConfigManager.getProperty("wait.time.seconds", "30")
-        );
-        this.wait = new WebDriverWait(webDriver, Duration.ofSeconds(waitTime));
+        this.wait = AdaptiveWait.fromConfig(webDriver);
         this.actions = new Actions(webDriver);
         this.js = (JavascriptExecutor) webDriver;
-        PageFactory.initElements(webDriver, this);
+        this.scrollTimeoutMs = Long.parseLong(
+            ConfigManager.getProperty("scroll.timeout.ms", "3000")
+        );
+        this.fields = PageFields.of(getClass());
+        this.fields.initElements(webDriver, this);
     }
 
     /**
@@ -46,7 +167,8 @@ public class BasePage<T extends BasePage<T>> {
     @Step("Wait for element to be visible")
     public WebElement waitForElementToBeVisible(final WebElement element) {
         try {
-            return wait.until(ExpectedConditions.visibilityOf(element));
+            return wait.until(ExpectedConditions.visibilityOf(element),
+                describe(element));
         } catch (final Exception e) {
             throw e;
         }
@@ -60,14 +182,16 @@ public class BasePage<T extends BasePage<T>> {
     @Step("Wait for element to be clickable")
     public WebElement waitForElementToBeClickable(final WebElement element) {
         try {
-            return wait.until(ExpectedConditions.elementToBeClickable(element));
+            return wait.until(ExpectedConditions.elementToBeClickable(element),
+                describe(element));
         } catch (final Exception e) {
             throw e;
         }
     }
 
     /**
-     * Clicks on the given element.
+     * Clicks on the given element. If the element is off-screen or covered,
+     * it is scrolled into view and clicked again.
      * @param element the WebElement to click
      */
     @Step("Click on element")
@@ -79,9 +203,13 @@ public class BasePage<T extends BasePage<T>> {
             WebElement refreshedElement = wait.until(
                 ExpectedConditions.refreshed(
                     ExpectedConditions.elementToBeClickable(element)
-                )
+                ),
+                describe(element)
             );
             refreshedElement.click();
+        } catch (final ElementClickInterceptedException e) {
+            scrollToElement(element);
+            element.click();
         } catch (final Exception e) {
             throw e;
         }
@@ -119,6 +247,219 @@ public class BasePage<T extends BasePage<T>> {
         }
     }
 
+    /**
+     * Fills many fields with a single script. Values are assigned through
+     * the native value setter and each field fires input and change events,
+     * so framework-bound inputs see the update. Selects are matched by option
+     * value or text; checkboxes and radios take "true" or "false".
+     * <p>
+     * The fill itself is one round trip, but each element passed as a page
+     * factory or proxy element is first located with its own findElement
+     * call. Use {@link #fillFields(Map)}, which locates simple locators
+     * inside the script, for a true single round trip.
+     * @param values the values keyed by element, filled in iteration order
+     */
+    @Step("Fill form")
+    public void fillForm(final Map<WebElement, String> values) {
+        fillForm(values, Collections.emptySet());
+    }
+
+    /**
+     * Fills many fields with a single script, typing real keystrokes into the
+     * given fields after the scripted ones are set. Proxy elements are located
+     * one by one first, as for {@link #fillForm(Map)}.
+     * @param values the values keyed by element
+     * @param typedFields the elements that need real keystrokes
+     */
+    @Step("Fill form")
+    public void fillForm(
+        final Map<WebElement, String> values,
+        final Set<WebElement> typedFields
+    ) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (Map.Entry<WebElement, String> entry : values.entrySet()) {
+            if (!typedFields.contains(entry.getKey())) {
+                Map<String, Object> item = new HashMap<>();
+                item.put("name", describe(entry.getKey()));
+                item.put("el", entry.getKey());
+                item.put("value", entry.getValue());
+                items.add(item);
+            }
+        }
+        fillScripted(items);
+        for (Map.Entry<WebElement, String> entry : values.entrySet()) {
+            if (typedFields.contains(entry.getKey())) {
+                sendKeys(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Fills many fields, identified by their page object field names, in one
+     * browser round trip. Fields with a simple {@code @FindBy} locator are
+     * located inside the script, so no per-field lookup is needed. Fields
+     * located by link text, partial link text, {@code @FindBys} or
+     * {@code @FindAll} are first looked up with their own findElement call;
+     * if one is missing the fill fails with that field not found.
+     * @param values the values keyed by field name, filled in iteration order
+     */
+    @Step("Fill fields")
+    public void fillFields(final Map<String, String> values) {
+        fillFields(values, Collections.emptySet());
+    }
+
+    /**
+     * Fills many fields, identified by their page object field names, in one
+     * browser round trip, typing real keystrokes into the given fields after
+     * the scripted ones are set.
+     * @param values the values keyed by field name
+     * @param typedFields the field names that need real keystrokes
+     */
+    @Step("Fill fields")
+    public void fillFields(
+        final Map<String, String> values,
+        final Set<String> typedFields
+    ) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (typedFields.contains(entry.getKey())) {
+                continue;
+            }
+            Map<String, Object> item = scriptItem(entry.getKey());
+            item.put("name", entry.getKey());
+            item.put("value", entry.getValue());
+            items.add(item);
+        }
+        fillScripted(items);
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (typedFields.contains(entry.getKey())) {
+                sendKeys(
+                    fields.element(entry.getKey()).getElement(this),
+                    entry.getValue()
+                );
+            }
+        }
+    }
+
+    private void fillScripted(final List<Map<String, Object>> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Object failures = js.executeScript(FILL_SCRIPT, items);
+        if (failures instanceof List && !((List<?>) failures).isEmpty()) {
+            throw new InvalidElementStateException(
+                "Could not fill fields: " + failures
+            );
+        }
+    }
+
+    /**
+     * Builds the script argument for a field: its in-page locator when it
+     * has one, otherwise the element located through its proxy. An element
+     * the proxy cannot find is left out, so the script reports it as absent.
+     */
+    private Map<String, Object> scriptItem(final String fieldName) {
+        PageFields.FieldInfo info = fields.element(fieldName);
+        Map<String, Object> item = new HashMap<>();
+        if (info.getScriptLocator() != null) {
+            item.putAll(info.getScriptLocator());
+            return item;
+        }
+        WebElement element = info.getElement(this);
+        try {
+            item.put("el", element instanceof WrapsElement
+                ? ((WrapsElement) element).getWrappedElement()
+                : element);
+        } catch (final NoSuchElementException e) {
+            // No "el" and no locator: the script sees the element as absent
+        }
+        return item;
+    }
+
+    /**
+     * Captures the state of all WebElement fields of this page in a single
+     * browser round trip.
+     * See {@link #snapshot(Collection, Collection)} for the fields that need
+     * a lookup of their own.
+     * @return the immutable snapshot
+     */
+    public PageSnapshot snapshot() {
+        return snapshot(
+            fields.elements().keySet(),
+            Collections.emptyList()
+        );
+    }
+
+    /**
+     * Captures the state of the given WebElement fields of this page in a
+     * single browser round trip.
+     * See {@link #snapshot(Collection, Collection)} for the fields that need
+     * a lookup of their own.
+     * @param fieldNames the page object field names
+     * @return the immutable snapshot
+     */
+    public PageSnapshot snapshot(final String... fieldNames) {
+        return snapshot(Arrays.asList(fieldNames), Collections.emptyList());
+    }
+
+    /**
+     * Captures text, visibility, enabled and selected state plus the given
+     * attributes of WebElement fields of this page in a single browser
+     * round trip.
+     * <p>
+     * Fields located by link text, partial link text, {@code @FindBys} or
+     * {@code @FindAll} cannot be located inside the script. Each of them
+     * costs one extra findElement call before the snapshot, which waits for
+     * the implicit wait if the element is missing, and a missing element is
+     * reported as not present.
+     * @param fieldNames the page object field names
+     * @param attributes the attribute names to capture for each element
+     * @return the immutable snapshot
+     */
+    public PageSnapshot snapshot(
+        final Collection<String> fieldNames,
+        final Collection<String> attributes
+    ) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (String name : fieldNames) {
+            items.add(scriptItem(name));
+        }
+        List<?> states = (List<?>) js.executeScript(
+            SNAPSHOT_SCRIPT,
+            items,
+            new ArrayList<>(attributes)
+        );
+        Map<String, PageSnapshot.ElementState> elements = new LinkedHashMap<>();
+        int index = 0;
+        for (String name : fieldNames) {
+            elements.put(name, toElementState((Map<?, ?>) states.get(index++)));
+        }
+        return new PageSnapshot(elements);
+    }
+
+    private static PageSnapshot.ElementState toElementState(
+        final Map<?, ?> state
+    ) {
+        Map<String, String> attributeValues = new LinkedHashMap<>();
+        Object captured = state.get("attributes");
+        if (captured instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) captured).entrySet()) {
+                attributeValues.put(
+                    String.valueOf(entry.getKey()),
+                    entry.getValue() == null ? null : String.valueOf(entry.getValue())
+                );
+            }
+        }
+        return new PageSnapshot.ElementState(
+            Boolean.TRUE.equals(state.get("present")),
+            Boolean.TRUE.equals(state.get("displayed")),
+            Boolean.TRUE.equals(state.get("enabled")),
+            Boolean.TRUE.equals(state.get("selected")),
+            state.get("text") == null ? "" : String.valueOf(state.get("text")),
+            attributeValues
+        );
+    }
+
     /**
     * Selects an option by visible text from a dropdown.
     * @param element the dropdown WebElement
@@ -173,41 +514,52 @@ public class BasePage<T extends BasePage<T>> {
         }
     }
 
-    // Removed duplicate/partial scrollToElement and SCROLL_PAUSE_MS
     /**
-    * Scrolls to the given element.
+    * Scrolls to the given element and returns as soon as the browser reports
+    * it in the viewport at a stable position, or after scroll.timeout.ms.
+    * Elements already in view are not scrolled. Runs in a single round trip.
     * Subclasses overriding this method should ensure that the scroll action is
     * safe and does not interfere with other actions.
     * This method is final to prevent unsafe overrides.
     * @param element the WebElement to scroll to
+    * @return true if the element ended up in the viewport
      */
-    private static final int SCROLL_PAUSE_MS = 500;
-    public final void scrollToElement(final WebElement element) {
-        js.executeScript(
-            "arguments[0].scrollIntoView(true);",
-            element
+    public final boolean scrollToElement(final WebElement element) {
+        Object inView = js.executeAsyncScript(
+            SCROLL_SCRIPT,
+            element,
+            scrollTimeoutMs
         );
-        try {
-            // Small pause for scroll to complete
-            Thread.sleep(SCROLL_PAUSE_MS);
-        } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        return Boolean.TRUE.equals(inView);
     }
 
     /**
-     * Hovers over the given element.
+     * Hovers over the given element, scrolling it into view first if it is
+     * off-screen.
      * @param element the WebElement to hover over
      */
     public void hoverOverElement(final WebElement element) {
         try {
             waitForElementToBeVisible(element);
             actions.moveToElement(element).perform();
+        } catch (final MoveTargetOutOfBoundsException e) {
+            scrollToElement(element);
+            actions.moveToElement(element).perform();
         } catch (final Exception e) {
             throw e;
         }
     }
 
+    /**
+     * Describes an element for wait statistics. Page factory proxies describe
+     * their locator without looking the element up.
+     * @param element the WebElement
+     * @return the element description
+     */
+    protected String describe(final WebElement element) {
+        return String.valueOf(element);
+    }
+
     /**
      * Logs a step in the report.
      * @param stepDescription the step description
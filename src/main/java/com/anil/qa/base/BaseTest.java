@@ -1,17 +1,31 @@
 package com.anil.qa.base;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Parameters;
+import org.testng.xml.XmlTest;
 
+import com.anil.qa.utils.ApiConnectionPool;
+import com.anil.qa.utils.ApiLogBuffer;
+import com.anil.qa.utils.ApiReplay;
+import com.anil.qa.utils.ApiResponseTimes;
+import com.anil.qa.utils.AsyncApiUtils;
 import com.anil.qa.utils.ConfigManager;
 import com.anil.qa.utils.ReportManager;
 import com.anil.qa.utils.ScreenshotUtils;
@@ -27,15 +41,13 @@ import com.anil.qa.utils.ScreenshotUtils;
 public class BaseTest {
     /** Logger instance. */
     private static final Logger LOGGER = LogManager.getLogger(BaseTest.class);
-    /** WebDriver instance. */
-    private WebDriver driver;
 
     /**
-     * Gets the WebDriver instance.
+     * Gets the WebDriver instance, creating it on first use.
      * @return the WebDriver
      */
     public WebDriver getDriver() {
-        return driver;
+        return DriverManager.getDriver();
     }
 
     /**
@@ -43,67 +55,137 @@ public class BaseTest {
      * @param webDriver the WebDriver to set.
      */
     public void setDriver(final WebDriver webDriver) {
-        this.driver = webDriver;
+        DriverManager.setDriver(webDriver);
     }
-    
+
     /**
-    * Runs before the test suite. Loads config and initializes reports.
+    * Runs before the test suite. Loads config, initializes reports and starts
+    * pre-warming browser sessions for every browser the suite uses.
+    * @param context the ITestContext.
      */
     @BeforeSuite
-    public void beforeSuite() {
+    public void beforeSuite(final ITestContext context) {
         LOGGER.info("Starting test execution");
         ConfigManager.loadConfig();
         ReportManager.initReports();
+        DriverManager.prewarm(getSuiteBrowsers(context));
+    }
+
+    /**
+    * Collects the browser parameter of every test in the suite, falling back
+    * to the configured browser.
+    * @param context the ITestContext.
+    * @return the distinct browser names.
+     */
+    private Set<String> getSuiteBrowsers(final ITestContext context) {
+        Set<String> browsers = new LinkedHashSet<>();
+        for (XmlTest test : context.getSuite().getXmlSuite().getTests()) {
+            String browser = test.getAllParameters().get("browser");
+            if (browser != null) {
+                browsers.add(browser.toLowerCase());
+            }
+        }
+        if (browsers.isEmpty() && ConfigManager.getProperty("browser") != null) {
+            browsers.add(ConfigManager.getProperty("browser").toLowerCase());
+        }
+        return browsers;
     }
     
     /**
-    * Runs before each test method. Sets up WebDriver and navigates to base URL.
+    * Runs before each test class. Starts recording or replaying its API calls
+    * if api.replay.mode asks for it.
+     */
+    @BeforeClass
+    public void beforeClass() {
+        ApiReplay.startClass(getClass());
+    }
+
+    /**
+    * Runs after each test class. Writes recorded API fixtures.
+     */
+    @AfterClass(alwaysRun = true)
+    public void afterClass() {
+        ApiReplay.finishClass(getClass());
+    }
+
+    /**
+    * Runs before each test method. Creates the report entry and selects the
+    * browser for this thread; the WebDriver itself is only created when a test
+    * or page first asks for it.
+    * @param method the test method.
     * @param browser the browser to use.
      */
     @BeforeMethod
     @Parameters(value = {"browser"})
-    public void beforeMethod(final String browser) {
+    public void beforeMethod(final Method method, final String browser) {
         LOGGER.info("Setting up test method");
+        ReportManager.createTest(method.getName());
+        CommandMetrics.startTest();
+        ApiLogBuffer.startTest();
+        ApiReplay.activate(getClass());
         if (browser != null) {
             ConfigManager.setProperty("browser", browser);
         }
-        driver = DriverManager.getDriver();
-        driver.get(
-            ConfigManager.getProperty("url")
-        );
+        DriverManager.setBrowser(browser);
     }
     
     /**
-    * Runs after each test method. Handles reporting and driver cleanup.
+    * Runs after each test method. Handles reporting and returns the driver.
     * @param result the ITestResult.
      */
     @AfterMethod
     public void afterMethod(ITestResult result) {
+        String commandLatency = CommandMetrics.finishTest();
+        if (commandLatency != null) {
+            ReportManager.logInfo("<pre>" + commandLatency + "</pre>");
+        }
+        String apiLog = ApiLogBuffer.finishTest(result.getStatus() == ITestResult.FAILURE);
+        if (apiLog != null) {
+            LOGGER.info(apiLog);
+            ReportManager.logPreformatted(apiLog);
+        }
         if (result.getStatus() == ITestResult.FAILURE) {
             LOGGER.error("Test failed: {}", result.getName());
-            String screenshotPath = ScreenshotUtils.captureScreenshot(driver, 
-                    result.getName());
             ReportManager.logFailure("Test failed with exception: " 
                     + result.getThrowable().getMessage());
-            try {
-                ReportManager.attachScreenshot(screenshotPath);
-            } catch (IOException e) {
-                e.printStackTrace();
+            if (DriverManager.hasDriver()) {
+                String screenshotPath = ScreenshotUtils.captureScreenshot(
+                        DriverManager.getDriver(), result.getName());
+                try {
+                    ReportManager.attachScreenshot(screenshotPath);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
             }
         } else if (result.getStatus() == ITestResult.SUCCESS) {
             LOGGER.info("Test passed: {}", result.getName());
             ReportManager.logSuccess("Test passed successfully");
         }
 
-        DriverManager.quitDriver();
+        ApiReplay.deactivate();
+        DriverManager.releaseDriver(result.getStatus() == ITestResult.FAILURE);
     }
 
     /**
-    * Runs after the test suite. Flushes reports.
+    * Runs after the test suite. Reports API response times, shuts down driver
+    * pools and flushes reports. Fails if an API response time budget was
+    * exceeded and api.budget.mode is fail.
      */
     @AfterSuite
     public void afterSuite() {
         LOGGER.info("Finishing test execution");
+        List<String> budgetViolations = ApiResponseTimes.reportSuite();
+        LOGGER.info(WaitStatistics.summary(20));
+        CommandMetrics.writeSuiteSummary(
+                Paths.get("test-output/metrics/webdriver-commands.csv"));
+        DriverManager.shutdownPools();
+        AsyncApiUtils.shutdown();
+        ApiConnectionPool.shutdown();
+        ApiReplay.shutdown();
         ReportManager.flushReports();
+        if (!budgetViolations.isEmpty() && ApiResponseTimes.isFailMode()) {
+            throw new AssertionError("API response time budgets exceeded: "
+                    + budgetViolations);
+        }
     }
 }
@@ -0,0 +1,146 @@
+package com.anil.qa.base;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import com.anil.qa.utils.ConfigManager;
+import com.anil.qa.utils.LatencyHistogram;
+
+/**
+ * CommandMetrics records the latency of every WebDriver command in per-command
+ * histograms. Commands are recorded per test on the calling thread and merged
+ * into a suite-level aggregate when the test finishes.
+ */
+public final class CommandMetrics implements WebDriverListener {
+    /** Logger instance. */
+    private static final Logger LOGGER = LogManager.getLogger(CommandMetrics.class);
+    /** Shared listener instance; it keeps no per-driver state. */
+    private static final CommandMetrics LISTENER = new CommandMetrics();
+    /** Histograms of the running test on this thread, keyed by command. */
+    private static final ThreadLocal<Map<String, LatencyHistogram>> TEST =
+            ThreadLocal.withInitial(TreeMap::new);
+    /** Start times of the commands in flight on this thread. */
+    private static final ThreadLocal<Deque<Long>> STARTS =
+            ThreadLocal.withInitial(ArrayDeque::new);
+    /** Suite-level histograms, keyed by command. */
+    private static final Map<String, LatencyHistogram> SUITE = new ConcurrentHashMap<>();
+
+    private CommandMetrics() {
+        // Use CommandMetrics.instrument
+    }
+
+    /**
+     * Wraps a driver so its commands are recorded, if
+     * driver.instrumentation.enabled is set.
+     * @param driver the driver to wrap
+     * @return the instrumented driver, or the driver itself if disabled
+     */
+    public static WebDriver instrument(final WebDriver driver) {
+        if (!isEnabled()) {
+            return driver;
+        }
+        return new EventFiringDecorator<WebDriver>(LISTENER).decorate(driver);
+    }
+
+    /**
+     * Starts recording a new test on the current thread.
+     */
+    public static void startTest() {
+        TEST.get().clear();
+        STARTS.get().clear();
+    }
+
+    /**
+     * Finishes the current thread's test, merging its histograms into the suite
+     * aggregate.
+     * @return a per-command summary of the test, or null if nothing was recorded
+     */
+    public static String finishTest() {
+        Map<String, LatencyHistogram> histograms = TEST.get();
+        if (histograms.isEmpty()) {
+            return null;
+        }
+        StringBuilder summary = new StringBuilder("WebDriver command latency:");
+        histograms.forEach((command, histogram) -> {
+            SUITE.computeIfAbsent(command, key -> new LatencyHistogram()).merge(histogram);
+            summary.append(System.lineSeparator()).append(command).append(": ")
+                    .append(histogram.summary());
+        });
+        histograms.clear();
+        return summary.toString();
+    }
+
+    /**
+     * Writes the suite-level aggregate as CSV, one row per command.
+     * @param file the file to write
+     */
+    public static void writeSuiteSummary(final Path file) {
+        if (SUITE.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (PrintWriter out = new PrintWriter(
+                    Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+                out.println("command,count,mean_ms,p50_ms,p90_ms,p99_ms,p99_9_ms,max_ms");
+                new TreeMap<>(SUITE).forEach((command, h) -> out.printf(
+                        "%s,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f%n", command, h.getCount(),
+                        h.getMeanMillis(), h.getPercentileMillis(50),
+                        h.getPercentileMillis(90), h.getPercentileMillis(99),
+                        h.getPercentileMillis(99.9), h.getMaxMillis()));
+            }
+            LOGGER.info("WebDriver command metrics written: {}", file);
+        } catch (final IOException e) {
+            LOGGER.error("Failed to write WebDriver command metrics: {}", file, e);
+        }
+    }
+
+    @Override
+    public void beforeAnyCall(final Object target, final Method method, final Object[] args) {
+        STARTS.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(final Object target, final Method method, final Object[] args,
+            final Object result) {
+        record(method);
+    }
+
+    @Override
+    public void onError(final Object target, final Method method, final Object[] args,
+            final InvocationTargetException e) {
+        record(method);
+    }
+
+    private static void record(final Method method) {
+        Long start = STARTS.get().poll();
+        if (start == null) {
+            return;
+        }
+        String command = "getScreenshotAs".equals(method.getName())
+                ? "screenshot"
+                : method.getName();
+        TEST.get().computeIfAbsent(command, key -> new LatencyHistogram())
+                .recordNanos(System.nanoTime() - start);
+    }
+
+    private static boolean isEnabled() {
+        return Boolean.parseBoolean(
+                ConfigManager.getProperty("driver.instrumentation.enabled", "true"));
+    }
+}
@@ -0,0 +1,294 @@
+package com.anil.qa.base;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import com.anil.qa.utils.ConfigManager;
+
+/**
+ * DriverBinaryCache resolves driver binaries once per host and records them in
+ * an on-disk manifest (browser version to driver path) shared by all threads
+ * and JVMs. After the first resolution in a JVM, creating a driver involves no
+ * version detection and no network access. In offline mode a missing manifest
+ * entry fails fast instead of reaching out to the network.
+ */
+public final class DriverBinaryCache {
+    /** Logger instance. */
+    private static final Logger LOGGER = LogManager.getLogger(DriverBinaryCache.class);
+    /** Manifest file name inside the cache directory. */
+    private static final String MANIFEST_FILE = "manifest.properties";
+    /** Lock file serializing resolution across JVMs. */
+    private static final String LOCK_FILE = "manifest.lock";
+    /** Version reported when the browser version cannot be detected. */
+    private static final String UNKNOWN_VERSION = "unknown";
+    /** Extracts a dotted version number from a --version output. */
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(\\d+(?:\\.\\d+)+)");
+    /** Seconds to wait for a browser to report its version. */
+    private static final long VERSION_TIMEOUT_SECONDS = 10;
+    /**
+     * Recorded instead of a path when WebDriverManager configured the driver
+     * itself but reported no path to cache.
+     */
+    private static final String CONFIGURED_BY_SETUP = "";
+    /** Driver paths resolved by this JVM, keyed by browser name. */
+    private static final Map<String, String> RESOLVED = new ConcurrentHashMap<>();
+    /** Commands that print the installed browser version, per browser. */
+    private static final Map<String, List<List<String>>> VERSION_COMMANDS = Map.of(
+            "chrome", Arrays.asList(
+                    Arrays.asList("google-chrome", "--version"),
+                    Arrays.asList("google-chrome-stable", "--version"),
+                    Arrays.asList("chromium", "--version"),
+                    Arrays.asList("chromium-browser", "--version"),
+                    Arrays.asList("/Applications/Google Chrome.app/Contents/MacOS/Google Chrome",
+                            "--version"),
+                    Arrays.asList("reg", "query",
+                            "HKEY_CURRENT_USER\\Software\\Google\\Chrome\\BLBeacon",
+                            "/v", "version")),
+            "firefox", Arrays.asList(
+                    Arrays.asList("firefox", "--version"),
+                    Arrays.asList("/Applications/Firefox.app/Contents/MacOS/firefox",
+                            "--version")),
+            "edge", Arrays.asList(
+                    Arrays.asList("microsoft-edge", "--version"),
+                    Arrays.asList("microsoft-edge-stable", "--version"),
+                    Arrays.asList("/Applications/Microsoft Edge.app/Contents/MacOS/Microsoft Edge",
+                            "--version"),
+                    Arrays.asList("reg", "query",
+                            "HKEY_CURRENT_USER\\Software\\Microsoft\\Edge\\BLBeacon",
+                            "/v", "version")));
+
+    private DriverBinaryCache() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Makes the driver binary for the given browser available to Selenium,
+     * resolving it at most once per JVM. With driver.cache.enabled=false this
+     * falls back to a plain WebDriverManager setup on every call.
+     * @param browser the browser name
+     */
+    public static void resolve(final String browser) {
+        String property = driverProperty(browser);
+        if (property == null) {
+            return;
+        }
+        if (!Boolean.parseBoolean(ConfigManager.getProperty("driver.cache.enabled", "true"))) {
+            managerFor(browser).setup();
+            return;
+        }
+        String driverPath = RESOLVED.computeIfAbsent(browser, DriverBinaryCache::resolveOnHost);
+        // Without a path, setup() has already configured the driver for this JVM
+        if (!CONFIGURED_BY_SETUP.equals(driverPath)) {
+            System.setProperty(property, driverPath);
+        }
+    }
+
+    /**
+     * Forgets the cached driver for a browser, for example after the browser was
+     * upgraded and the cached driver no longer starts a session.
+     * @param browser the browser name
+     */
+    public static void invalidate(final String browser) {
+        String driverPath = RESOLVED.remove(browser);
+        if (driverPath == null) {
+            return;
+        }
+        if (CONFIGURED_BY_SETUP.equals(driverPath)) {
+            LOGGER.info("Invalidated {} driver configured by WebDriverManager", browser);
+            return;
+        }
+        try {
+            withManifest(manifest -> {
+                manifest.values().removeIf(driverPath::equals);
+                return null;
+            });
+            LOGGER.info("Invalidated cached {} driver: {}", browser, driverPath);
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to update driver manifest", e);
+        }
+    }
+
+    private static String resolveOnHost(final String browser) {
+        String key = browser + "@" + detectBrowserVersion(browser);
+        try {
+            return withManifest(manifest -> {
+                String cached = manifest.getProperty(key);
+                if (cached != null && Files.isRegularFile(Paths.get(cached))) {
+                    LOGGER.info("Using cached {} driver: {}", key, cached);
+                    return cached;
+                }
+                if (isOffline()) {
+                    throw new IllegalStateException("No cached driver for " + key + " in "
+                            + cacheDir() + " and driver.cache.offline is enabled");
+                }
+                WebDriverManager manager = managerFor(browser);
+                manager.setup();
+                String downloaded = manager.getDownloadedDriverPath();
+                if (downloaded == null) {
+                    LOGGER.warn("WebDriverManager reported no driver path for {}; "
+                            + "keeping its setup for this JVM only", key);
+                    return CONFIGURED_BY_SETUP;
+                }
+                manifest.setProperty(key, downloaded);
+                LOGGER.info("Resolved {} driver: {}", key, downloaded);
+                return downloaded;
+            });
+        } catch (final IOException e) {
+            throw new RuntimeException("Failed to access driver manifest in " + cacheDir(), e);
+        }
+    }
+
+    /**
+     * Runs an action on the manifest while holding the cross-JVM lock, writing
+     * the manifest back if the action changed it.
+     */
+    private static synchronized String withManifest(final ManifestAction action)
+            throws IOException {
+        Path dir = cacheDir();
+        Files.createDirectories(dir);
+        Path manifestFile = dir.resolve(MANIFEST_FILE);
+        try (FileChannel channel = FileChannel.open(dir.resolve(LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock lock = channel.lock()) {
+            Properties manifest = new Properties();
+            if (Files.exists(manifestFile)) {
+                try (InputStream in = Files.newInputStream(manifestFile)) {
+                    manifest.load(in);
+                }
+            }
+            Properties before = (Properties) manifest.clone();
+            String result = action.apply(manifest);
+            if (!manifest.equals(before)) {
+                Path temp = Files.createTempFile(dir, MANIFEST_FILE, ".tmp");
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    manifest.store(out, "EasyQA driver binaries");
+                }
+                Files.move(temp, manifestFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            }
+            return result;
+        }
+    }
+
+    private static String detectBrowserVersion(final String browser) {
+        String configured = ConfigManager.getProperty(
+                "driver.cache.browser.version." + browser, null);
+        if (configured != null) {
+            return configured;
+        }
+        for (List<String> command : VERSION_COMMANDS.getOrDefault(browser,
+                Collections.emptyList())) {
+            String version = runVersionCommand(command);
+            if (version != null) {
+                return version;
+            }
+        }
+        LOGGER.warn("Could not detect {} version; caching its driver as '{}'",
+                browser, UNKNOWN_VERSION);
+        return UNKNOWN_VERSION;
+    }
+
+    private static String runVersionCommand(final List<String> command) {
+        Path outputFile = null;
+        try {
+            // Output goes to a file, not a pipe, so a hanging command or a child
+            // holding the pipe open cannot block past the timeout
+            outputFile = Files.createTempFile("browser-version", ".txt");
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(outputFile.toFile())
+                    .start();
+            if (!process.waitFor(VERSION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                LOGGER.warn("Timed out after {}s running {}", VERSION_TIMEOUT_SECONDS, command);
+                return null;
+            }
+            String output = new String(Files.readAllBytes(outputFile), StandardCharsets.UTF_8);
+            Matcher matcher = VERSION_PATTERN.matcher(output);
+            return process.exitValue() == 0 && matcher.find() ? matcher.group(1) : null;
+        } catch (final IOException e) {
+            return null;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            deleteQuietly(outputFile);
+        }
+    }
+
+    private static void deleteQuietly(final Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            LOGGER.debug("Failed to delete {}", file, e);
+        }
+    }
+
+    private static WebDriverManager managerFor(final String browser) {
+        switch (browser) {
+            case "chrome":
+                return WebDriverManager.chromedriver();
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            case "edge":
+                return WebDriverManager.edgedriver();
+            default:
+                throw new RuntimeException("Unsupported browser: " + browser);
+        }
+    }
+
+    private static String driverProperty(final String browser) {
+        switch (browser) {
+            case "chrome":
+                return "webdriver.chrome.driver";
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            default:
+                return null;
+        }
+    }
+
+    private static Path cacheDir() {
+        return Paths.get(ConfigManager.getProperty("driver.cache.dir",
+                Paths.get(System.getProperty("user.home"), ".cache", "easyqa", "drivers")
+                        .toString()));
+    }
+
+    private static boolean isOffline() {
+        return Boolean.parseBoolean(ConfigManager.getProperty("driver.cache.offline", "false"));
+    }
+
+    /**
+     * Action run against the locked manifest.
+     */
+    @FunctionalInterface
+    private interface ManifestAction {
+        String apply(Properties manifest);
+    }
+}
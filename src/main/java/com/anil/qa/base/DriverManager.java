@@ -1,6 +1,14 @@
 package com.anil.qa.base;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -14,86 +22,259 @@ import com.anil.qa.utils.ConfigManager;
 
 /**
  * DriverManager manages WebDriver instances for different browsers and threads.
- * Supports Chrome, Firefox, Edge, and Safari.
+ * Supports Chrome, Firefox, Edge, and Safari. When driver pooling is enabled,
+ * sessions are leased from a per-browser {@link DriverPool} and returned to it
+ * after each test instead of being quit.
  */
 public final class DriverManager {
     /** Logger instance. */
     private static final Logger LOGGER = LogManager.getLogger(DriverManager.class);
     /** ThreadLocal WebDriver instance. */
     private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
+    /** ThreadLocal browser override, set per test from the TestNG parameter. */
+    private static final ThreadLocal<String> BROWSER = new ThreadLocal<>();
+    /** ThreadLocal pool the current driver was leased from, if any. */
+    private static final ThreadLocal<DriverPool> LEASED_FROM = new ThreadLocal<>();
+    /** Session pools keyed by browser name. */
+    private static final Map<String, DriverPool> POOLS = new ConcurrentHashMap<>();
+    /** Executor creating pre-warmed sessions, if warm-up was started. */
+    private static ExecutorService warmupExecutor;
 
     private DriverManager() {
         // Private constructor to prevent instantiation
     }
 
     /**
-     * Gets the current thread's WebDriver instance, creating it if necessary.
+     * Gets the current thread's WebDriver instance. The driver is created
+     * lazily on the first call and navigated to the configured base URL, so
+     * tests that never ask for a driver never launch a browser.
      * @return the WebDriver
      */
     public static WebDriver getDriver() {
         if (DRIVER.get() == null) {
             setupDriver();
+            String url = ConfigManager.getProperty("url", null);
+            if (url != null) {
+                DRIVER.get().get(url);
+            }
         }
         return DRIVER.get();
     }
 
     /**
-     * Sets up the WebDriver based on config properties.
+     * Checks whether the current thread has a WebDriver, without creating one.
+     * @return true if a driver exists for this thread
+     */
+    public static boolean hasDriver() {
+        return DRIVER.get() != null;
+    }
+
+    /**
+     * Sets the current thread's WebDriver to an externally created instance,
+     * releasing any driver the thread already held.
+     * @param webDriver the WebDriver to use
+     */
+    public static void setDriver(final WebDriver webDriver) {
+        if (DRIVER.get() != null && DRIVER.get() != webDriver) {
+            releaseDriver(false);
+        }
+        DRIVER.set(webDriver);
+    }
+
+    /**
+     * Sets the browser the current thread's driver will be created with,
+     * overriding the configured browser.
+     * @param browser the browser name, or null to use the configured browser
+     */
+    public static void setBrowser(final String browser) {
+        if (browser == null) {
+            BROWSER.remove();
+        } else {
+            BROWSER.set(browser.toLowerCase());
+        }
+    }
+
+    /**
+     * Sets up the WebDriver based on config properties, leasing it from the
+     * session pool when pooling is enabled.
      */
     public static void setupDriver() {
-        String browser = ConfigManager.getProperty("browser").toLowerCase();
+        String browser = BROWSER.get() != null
+                ? BROWSER.get()
+                : ConfigManager.getProperty("browser").toLowerCase();
+        if (isPoolingEnabled()) {
+            DriverPool pool = getPool(browser);
+            DRIVER.set(pool.lease());
+            LEASED_FROM.set(pool);
+            LOGGER.info("Leased {} browser from pool", browser);
+        } else {
+            DRIVER.set(createDriver(browser));
+        }
+    }
+
+    /**
+     * Creates a new, unpooled WebDriver for the given browser.
+     * @param browser the browser name
+     * @return the new WebDriver
+     */
+    public static WebDriver createDriver(final String browser) {
         boolean headless = Boolean.parseBoolean(
                 ConfigManager.getProperty("headless"));
 
         LOGGER.info("Setting up {} browser", browser);
+        DriverBinaryCache.resolve(browser);
+        WebDriver driver;
+
+        try {
+            driver = startDriver(browser, headless);
+        } catch (final SessionNotCreatedException e) {
+            DriverBinaryCache.invalidate(browser);
+            throw e;
+        }
+
+        LOGGER.info("{} browser set up successfully", browser);
+        driver.manage().window().maximize();
+        return CommandMetrics.instrument(driver);
+    }
+
+    private static WebDriver startDriver(final String browser, final boolean headless) {
+        WebDriver driver;
 
         switch (browser) {
             case "chrome":
-                WebDriverManager.chromedriver().setup();
                 ChromeOptions chromeOptions = new ChromeOptions();
                 if (headless) {
                     chromeOptions.addArguments("--headless");
                 }
                 chromeOptions.addArguments("--no-sandbox");
                 chromeOptions.addArguments("--disable-dev-shm-usage");
-                DRIVER.set(new ChromeDriver(chromeOptions));
+                driver = new ChromeDriver(chromeOptions);
                 break;
 
             case "firefox":
-                WebDriverManager.firefoxdriver().setup();
                 FirefoxOptions firefoxOptions = new FirefoxOptions();
                 if (headless) {
                     firefoxOptions.addArguments("--headless");
                 }
-                DRIVER.set(new FirefoxDriver(firefoxOptions));
+                driver = new FirefoxDriver(firefoxOptions);
                 break;
 
             case "edge":
-                WebDriverManager.edgedriver().setup();
-                DRIVER.set(new EdgeDriver());
+                driver = new EdgeDriver();
                 break;
 
             case "safari":
-                DRIVER.set(new SafariDriver());
+                driver = new SafariDriver();
                 break;
 
             default:
                 LOGGER.error("Unsupported browser: {}", browser);
                 throw new RuntimeException("Unsupported browser: " + browser);
         }
+        return driver;
+    }
 
-        LOGGER.info("{} browser set up successfully", browser);
-        DRIVER.get().manage().window().maximize();
+    /**
+     * Releases the current thread's WebDriver. Pooled sessions are returned to
+     * their pool (and retired if the test failed); others are quit.
+     * @param failed whether the test using the driver failed
+     */
+    public static void releaseDriver(final boolean failed) {
+        WebDriver driver = DRIVER.get();
+        if (driver == null) {
+            return;
+        }
+        DriverPool pool = LEASED_FROM.get();
+        if (pool != null) {
+            LOGGER.info("Returning WebDriver to pool");
+            pool.release(driver, failed);
+            DRIVER.remove();
+            LEASED_FROM.remove();
+        } else {
+            quitDriver();
+        }
     }
 
     /**
-     * Quits and removes the current thread's WebDriver instance.
+     * Quits and removes the current thread's WebDriver instance. Pooled
+     * sessions are retired rather than returned.
      */
     public static void quitDriver() {
         if (DRIVER.get() != null) {
             LOGGER.info("Quitting WebDriver");
-            DRIVER.get().quit();
+            DriverPool pool = LEASED_FROM.get();
+            if (pool != null) {
+                pool.recycle(DRIVER.get());
+                LEASED_FROM.remove();
+            } else {
+                PageElements.forget(DRIVER.get());
+                DRIVER.get().quit();
+            }
             DRIVER.remove();
         }
     }
+
+    /**
+     * Gets the session pool for a browser, creating it from config on first use.
+     * @param browser the browser name
+     * @return the DriverPool
+     */
+    public static DriverPool getPool(final String browser) {
+        return POOLS.computeIfAbsent(browser, name -> new DriverPool(
+                name,
+                () -> createDriver(name),
+                Integer.parseInt(ConfigManager.getProperty("driver.pool.size", "4")),
+                Integer.parseInt(ConfigManager.getProperty("driver.pool.max.uses", "25")),
+                DriverPool.ResetPolicy.fromConfig(
+                        ConfigManager.getProperty("driver.pool.reset", "full")),
+                Long.parseLong(ConfigManager.getProperty("driver.pool.lease.timeout.seconds", "120"))
+        ));
+    }
+
+    /**
+     * Starts creating sessions in the background for each browser, as
+     * configured by driver.pool.prewarm. Does nothing if pooling is disabled.
+     * @param browsers the browsers the suite will use
+     */
+    public static synchronized void prewarm(final Collection<String> browsers) {
+        int perBrowser = Integer.parseInt(
+                ConfigManager.getProperty("driver.pool.prewarm", "0"));
+        if (!isPoolingEnabled() || perBrowser <= 0 || browsers.isEmpty()) {
+            return;
+        }
+        if (warmupExecutor == null) {
+            warmupExecutor = Executors.newFixedThreadPool(
+                    Integer.parseInt(ConfigManager.getProperty("driver.pool.prewarm.threads", "4")),
+                    daemonThreadFactory());
+        }
+        for (String browser : browsers) {
+            getPool(browser.toLowerCase()).prewarm(perBrowser, warmupExecutor);
+        }
+    }
+
+    /**
+     * Shuts down all session pools, quitting their idle sessions.
+     */
+    public static synchronized void shutdownPools() {
+        if (warmupExecutor != null) {
+            warmupExecutor.shutdownNow();
+            warmupExecutor = null;
+        }
+        POOLS.values().forEach(DriverPool::shutdown);
+        POOLS.clear();
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "driver-warmup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static boolean isPoolingEnabled() {
+        return Boolean.parseBoolean(
+                ConfigManager.getProperty("driver.pool.enabled", "true"));
+    }
 }
@@ -0,0 +1,360 @@
+package com.anil.qa.base;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * DriverPool keeps a bounded set of warm WebDriver sessions for one browser.
+ * Sessions are leased to a test thread, reset when they are returned and
+ * retired after a configured number of uses or when they fail a health check.
+ */
+public final class DriverPool {
+    /** Logger instance. */
+    private static final Logger LOGGER = LogManager.getLogger(DriverPool.class);
+    /** Script that clears web storage for the current origin. */
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}"
+            + "try { window.sessionStorage.clear(); } catch (e) {}";
+    /** Interval at which a waiting lease re-checks whether warm-up is still running. */
+    private static final long WARMUP_POLL_MS = 100;
+
+    /**
+     * How much browser state is wiped when a session is returned.
+     */
+    public enum ResetPolicy {
+        /** Leave the session as the test left it. */
+        NONE,
+        /** Delete cookies only. */
+        COOKIES,
+        /** Close extra windows, delete cookies, clear storage and blank the page. */
+        FULL;
+
+        /**
+         * Parses a reset policy from a config value.
+         * @param value the config value
+         * @return the matching policy, FULL if the value is null
+         */
+        public static ResetPolicy fromConfig(final String value) {
+            if (value == null) {
+                return FULL;
+            }
+            return ResetPolicy.valueOf(value.trim().toUpperCase());
+        }
+    }
+
+    /** Browser name served by this pool. */
+    private final String browser;
+    /** Creates a new session when the pool has room. */
+    private final Supplier<WebDriver> factory;
+    /** Maximum number of uses before a session is retired. */
+    private final int maxUses;
+    /** Reset applied on return. */
+    private final ResetPolicy resetPolicy;
+    /** Seconds a lease waits for a free session before failing. */
+    private final long leaseTimeoutSeconds;
+    /** Permits for live sessions, bounding the pool size. */
+    private final Semaphore capacity;
+    /** Sessions ready to be leased. */
+    private final BlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+    /** Use counts of every live session, leased or idle. */
+    private final Map<WebDriver, Integer> uses = new ConcurrentHashMap<>();
+    /** Sessions currently leased to a test thread. */
+    private final Set<WebDriver> leased = ConcurrentHashMap.newKeySet();
+    /** Number of leases handed out. */
+    private final AtomicLong leaseCount = new AtomicLong();
+    /** Number of sessions returned to the pool. */
+    private final AtomicLong returnCount = new AtomicLong();
+    /** Number of sessions retired and quit. */
+    private final AtomicLong recycleCount = new AtomicLong();
+    /** Number of sessions being created in the background. */
+    private final AtomicInteger warming = new AtomicInteger();
+    /** Set once the pool is shut down. */
+    private volatile boolean closed;
+
+    /**
+     * Constructs a DriverPool.
+     * @param browserName the browser served by this pool
+     * @param driverFactory creates a new session
+     * @param size maximum number of live sessions
+     * @param maxSessionUses uses before a session is retired
+     * @param policy reset applied when a session is returned
+     * @param timeoutSeconds seconds a lease waits for a free session
+     */
+    public DriverPool(final String browserName, final Supplier<WebDriver> driverFactory,
+            final int size, final int maxSessionUses, final ResetPolicy policy,
+            final long timeoutSeconds) {
+        this.browser = browserName;
+        this.factory = driverFactory;
+        this.maxUses = maxSessionUses;
+        this.resetPolicy = policy;
+        this.leaseTimeoutSeconds = timeoutSeconds;
+        this.capacity = new Semaphore(size);
+    }
+
+    /**
+     * Leases a healthy session, creating one if the pool has room or waiting
+     * for a return otherwise.
+     * @return the leased WebDriver
+     */
+    public WebDriver lease() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(leaseTimeoutSeconds);
+        while (!closed) {
+            WebDriver driver = idle.pollFirst();
+            if (driver == null && warming.get() > 0) {
+                driver = awaitWarmup(deadline);
+            }
+            if (driver == null && capacity.tryAcquire()) {
+                driver = create();
+            }
+            if (driver == null) {
+                driver = awaitIdle(deadline);
+            }
+            if (isHealthy(driver)) {
+                leased.add(driver);
+                leaseCount.incrementAndGet();
+                return driver;
+            }
+            retire(driver);
+        }
+        throw new IllegalStateException("Driver pool for " + browser + " is shut down");
+    }
+
+    /**
+     * Starts creating sessions in the background so that the first leases find
+     * a warm session waiting. Never grows the pool beyond its size.
+     * @param count the number of sessions to create
+     * @param executor the executor that creates the sessions
+     * @return the number of sessions actually scheduled
+     */
+    public int prewarm(final int count, final Executor executor) {
+        int scheduled = 0;
+        while (scheduled < count && !closed && capacity.tryAcquire()) {
+            warming.incrementAndGet();
+            try {
+                executor.execute(this::warmOne);
+            } catch (final RejectedExecutionException e) {
+                warming.decrementAndGet();
+                capacity.release();
+                break;
+            }
+            scheduled++;
+        }
+        LOGGER.info("Pre-warming {} {} sessions", scheduled, browser);
+        return scheduled;
+    }
+
+    /**
+     * Returns a leased session to the pool, resetting it for the next test.
+     * Sessions that failed, reached their use limit or cannot be reset are
+     * retired instead.
+     * @param driver the leased WebDriver
+     * @param failed whether the test using the session failed
+     */
+    public void release(final WebDriver driver, final boolean failed) {
+        if (!leased.remove(driver)) {
+            LOGGER.warn("Ignoring return of a {} session not leased from the pool", browser);
+            return;
+        }
+        returnCount.incrementAndGet();
+        PageElements.forget(driver);
+        int useCount = uses.merge(driver, 1, Integer::sum);
+        if (closed || failed || useCount >= maxUses || !reset(driver)) {
+            retire(driver);
+            return;
+        }
+        idle.offerFirst(driver);
+    }
+
+    /**
+     * Retires a leased session without returning it to the pool.
+     * @param driver the leased WebDriver
+     */
+    public void recycle(final WebDriver driver) {
+        if (leased.remove(driver)) {
+            returnCount.incrementAndGet();
+            retire(driver);
+        }
+    }
+
+    /**
+     * Quits all idle sessions and rejects further leases. Sessions still
+     * leased are retired when they are returned.
+     */
+    public void shutdown() {
+        closed = true;
+        List<WebDriver> drained = new ArrayList<>();
+        idle.drainTo(drained);
+        drained.forEach(this::retire);
+        LOGGER.info("{} driver pool shut down: {} leases, {} returns, {} recycles",
+                browser, leaseCount.get(), returnCount.get(), recycleCount.get());
+    }
+
+    /**
+     * Gets the number of leases handed out.
+     * @return the lease count
+     */
+    public long getLeaseCount() {
+        return leaseCount.get();
+    }
+
+    /**
+     * Gets the number of sessions returned to the pool.
+     * @return the return count
+     */
+    public long getReturnCount() {
+        return returnCount.get();
+    }
+
+    /**
+     * Gets the number of sessions retired and quit.
+     * @return the recycle count
+     */
+    public long getRecycleCount() {
+        return recycleCount.get();
+    }
+
+    /**
+     * Gets the number of sessions waiting to be leased.
+     * @return the idle session count
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    private WebDriver create() {
+        try {
+            WebDriver driver = factory.get();
+            uses.put(driver, 0);
+            return driver;
+        } catch (final RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    private void warmOne() {
+        try {
+            WebDriver driver = create();
+            if (closed) {
+                retire(driver);
+            } else {
+                idle.offerLast(driver);
+            }
+        } catch (final RuntimeException e) {
+            LOGGER.error("Failed to pre-warm {} session", browser, e);
+        } finally {
+            warming.decrementAndGet();
+        }
+    }
+
+    /**
+     * Waits for a background session while any are still being created, so
+     * early leases take the first one to finish instead of starting their own.
+     */
+    private WebDriver awaitWarmup(final long deadline) {
+        try {
+            while (warming.get() > 0 && System.nanoTime() < deadline) {
+                WebDriver driver = idle.pollFirst(WARMUP_POLL_MS, TimeUnit.MILLISECONDS);
+                if (driver != null) {
+                    return driver;
+                }
+            }
+            return null;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a " + browser
+                    + " session", e);
+        }
+    }
+
+    private WebDriver awaitIdle(final long deadline) {
+        try {
+            long remaining = deadline - System.nanoTime();
+            WebDriver driver = remaining > 0
+                    ? idle.pollFirst(remaining, TimeUnit.NANOSECONDS)
+                    : null;
+            if (driver == null) {
+                throw new IllegalStateException("Timed out after " + leaseTimeoutSeconds
+                        + "s waiting for a " + browser + " session from the pool");
+            }
+            return driver;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a " + browser
+                    + " session", e);
+        }
+    }
+
+    private boolean isHealthy(final WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Discarding unhealthy {} session: {}", browser, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean reset(final WebDriver driver) {
+        try {
+            switch (resetPolicy) {
+                case FULL:
+                    String mainWindow = closeExtraWindows(driver);
+                    driver.switchTo().window(mainWindow);
+                    driver.manage().deleteAllCookies();
+                    ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+                    driver.get("about:blank");
+                    break;
+                case COOKIES:
+                    driver.manage().deleteAllCookies();
+                    break;
+                default:
+                    break;
+            }
+            return true;
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Failed to reset {} session, retiring it: {}", browser, e.getMessage());
+            return false;
+        }
+    }
+
+    private static String closeExtraWindows(final WebDriver driver) {
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        String mainWindow = handles.get(0);
+        for (String handle : handles.subList(1, handles.size())) {
+            driver.switchTo().window(handle);
+            driver.close();
+        }
+        return mainWindow;
+    }
+
+    private void retire(final WebDriver driver) {
+        uses.remove(driver);
+        recycleCount.incrementAndGet();
+        PageElements.forget(driver);
+        try {
+            driver.quit();
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Failed to quit retired {} session: {}", browser, e.getMessage());
+        } finally {
+            capacity.release();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.anil.qa.base;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+import com.anil.qa.utils.ConfigManager;
+
+/**
+ * PageElements creates the element proxies assigned to page object fields.
+ * Unlike PageFactory proxies, which look the element up again on every call,
+ * single-element proxies reuse the located element until it is detected stale
+ * and only then locate it again. Located elements are shared per driver
+ * session, so a new page object built for the same page does not repeat the
+ * lookups. The elements of a session are dropped by {@link #forget(WebDriver)}
+ * when the driver is returned, retired or quit.
+ */
+final class PageElements {
+    /** Located elements per session id, then search context, then locator. */
+    private static final Map<String, Map<SearchContext, Map<By, WebElement>>> LOCATED =
+            new ConcurrentHashMap<>();
+
+    private PageElements() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Creates a proxy for a single element.
+     * @param context the driver or element to search from
+     * @param by the element locator
+     * @return the element proxy
+     */
+    static WebElement element(final SearchContext context, final By by) {
+        return (WebElement) Proxy.newProxyInstance(
+                PageElements.class.getClassLoader(),
+                new Class<?>[] {WebElement.class, WrapsElement.class, Locatable.class},
+                new ElementHandler(context, by));
+    }
+
+    /**
+     * Creates a proxy for an element list, located again on every call.
+     * @param context the driver or element to search from
+     * @param by the element locator
+     * @return the list proxy
+     */
+    @SuppressWarnings("unchecked")
+    static List<WebElement> list(final SearchContext context, final By by) {
+        return (List<WebElement>) Proxy.newProxyInstance(
+                PageElements.class.getClassLoader(),
+                new Class<?>[] {List.class},
+                (proxy, method, args) -> invoke(context.findElements(by), method, args));
+    }
+
+    /**
+     * Drops the located elements of a driver's session. Must be called before
+     * the driver is quit, while its session id is still known.
+     * @param driver the driver being returned, retired or quit
+     */
+    static void forget(final WebDriver driver) {
+        String session = sessionOf(driver);
+        if (session != null) {
+            LOCATED.remove(session);
+        }
+    }
+
+    /**
+     * Gets the id of the session a search context belongs to.
+     * @return the session id, or null if it cannot be determined
+     */
+    private static String sessionOf(final SearchContext context) {
+        Object target = context;
+        if (target instanceof WrapsElement) {
+            target = ((WrapsElement) target).getWrappedElement();
+        }
+        while (target instanceof WrapsDriver && !(target instanceof RemoteWebDriver)) {
+            target = ((WrapsDriver) target).getWrappedDriver();
+        }
+        if (target instanceof RemoteWebDriver) {
+            SessionId id = ((RemoteWebDriver) target).getSessionId();
+            return id == null ? null : id.toString();
+        }
+        return null;
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args)
+            throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Handler behind single-element proxies.
+     */
+    private static final class ElementHandler implements InvocationHandler {
+        /** The driver or element to search from. */
+        private final SearchContext context;
+        /** The element locator. */
+        private final By by;
+
+        ElementHandler(final SearchContext searchContext, final By locator) {
+            this.context = searchContext;
+            this.by = locator;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args)
+                throws Throwable {
+            if ("toString".equals(method.getName()) && method.getParameterCount() == 0) {
+                return "Proxy element for: " + by;
+            }
+            WebElement element = locate(false);
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (final InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)
+                        || !isCachingEnabled()) {
+                    throw e.getCause();
+                }
+                return PageElements.invoke(locate(true), method, args);
+            }
+        }
+
+        private WebElement locate(final boolean stale) {
+            String session = isCachingEnabled() ? sessionOf(context) : null;
+            if (session == null) {
+                return context.findElement(by);
+            }
+            // Contexts are compared by identity; proxies would forward equals
+            Map<By, WebElement> located = LOCATED.computeIfAbsent(session,
+                    key -> Collections.synchronizedMap(new IdentityHashMap<>()))
+                    .computeIfAbsent(context, key -> new ConcurrentHashMap<>());
+            if (stale) {
+                located.remove(by);
+            }
+            WebElement element = located.get(by);
+            if (element == null) {
+                element = context.findElement(by);
+                located.put(by, element);
+            }
+            return element;
+        }
+
+        private static boolean isCachingEnabled() {
+            return Boolean.parseBoolean(
+                    ConfigManager.getProperty("page.element.cache.enabled", "true"));
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.anil.qa.base;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.How;
+import org.openqa.selenium.support.pagefactory.Annotations;
+
+/**
+ * PageFields holds the page object metadata of one class: its WebElement and
+ * {@code List<WebElement>} fields, their locators and the script form of those
+ * locators. The metadata is built once per class and shared by every instance,
+ * replacing the per-construction reflection of PageFactory.initElements. The
+ * script locators let page scripts resolve many fields in a single
+ * executeScript round trip.
+ */
+final class PageFields {
+    /**
+     * Script function resolving a {how, using} locator in the document, as
+     * produced by {@link #scriptLocator(Field)}.
+     */
+    static final String LOCATE_FUNCTION =
+        "function locate(how, using) {"
+        + "  switch (how) {"
+        + "    case 'id': return document.getElementById(using);"
+        + "    case 'name': return document.getElementsByName(using)[0] || null;"
+        + "    case 'idOrName': return document.getElementById(using)"
+        + "      || document.getElementsByName(using)[0] || null;"
+        + "    case 'css': return document.querySelector(using);"
+        + "    case 'className': return document.getElementsByClassName(using)[0] || null;"
+        + "    case 'tagName': return document.getElementsByTagName(using)[0] || null;"
+        + "    case 'xpath': return document.evaluate(using, document, null,"
+        + "      XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+        + "    default: return null;"
+        + "  }"
+        + "}";
+    /** Metadata keyed by page class. */
+    private static final Map<Class<?>, PageFields> CACHE = new ConcurrentHashMap<>();
+
+    /** WebElement fields, including superclass fields hidden by a subclass field. */
+    private final Map<Field, FieldInfo> fields;
+    /** WebElement fields keyed by the name they are visible under, in declaration order. */
+    private final Map<String, FieldInfo> elements;
+    /** Annotated {@code List<WebElement>} fields. */
+    private final List<FieldInfo> lists;
+
+    private PageFields(final Class<?> pageClass) {
+        Map<Field, FieldInfo> elementFields = new LinkedHashMap<>();
+        Map<String, FieldInfo> visibleFields = new LinkedHashMap<>();
+        List<FieldInfo> listFields = new ArrayList<>();
+        for (Class<?> type = pageClass; type != null && type != Object.class;
+                type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (WebElement.class.equals(field.getType())) {
+                    field.setAccessible(true);
+                    FieldInfo info = new FieldInfo(field);
+                    elementFields.put(field, info);
+                    // Walking up from the page class, the first field of a name hides the rest
+                    visibleFields.putIfAbsent(field.getName(), info);
+                } else if (isElementList(field)) {
+                    field.setAccessible(true);
+                    listFields.add(new FieldInfo(field));
+                }
+            }
+        }
+        this.fields = Collections.unmodifiableMap(elementFields);
+        this.elements = Collections.unmodifiableMap(visibleFields);
+        this.lists = Collections.unmodifiableList(listFields);
+    }
+
+    /**
+     * Gets the cached metadata of a page class, building it on first use.
+     * @param pageClass the page object class
+     * @return the page metadata
+     */
+    static PageFields of(final Class<?> pageClass) {
+        return CACHE.computeIfAbsent(pageClass, PageFields::new);
+    }
+
+    /**
+     * Gets the WebElement fields of the page, keyed by field name. A
+     * superclass field hidden by a subclass field of the same name is left
+     * out.
+     * @return the fields in declaration order
+     */
+    Map<String, FieldInfo> elements() {
+        return elements;
+    }
+
+    /**
+     * Gets one WebElement field of the page.
+     * @param name the field name
+     * @return the field metadata
+     * @throws IllegalArgumentException if there is no such field
+     */
+    FieldInfo element(final String name) {
+        FieldInfo info = elements.get(name);
+        if (info == null) {
+            throw new IllegalArgumentException(
+                "No WebElement field named '" + name + "'"
+            );
+        }
+        return info;
+    }
+
+    /**
+     * Assigns element proxies to all element fields of a page instance. Single
+     * elements reuse a located element until it goes stale.
+     * @param context the driver or element to search from
+     * @param page the page object instance
+     */
+    void initElements(final SearchContext context, final Object page) {
+        try {
+            for (FieldInfo info : fields.values()) {
+                info.field.set(page, PageElements.element(context, info.by));
+            }
+            for (FieldInfo info : lists) {
+                info.field.set(page, PageElements.list(context, info.by));
+            }
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException("Cannot initialize elements of "
+                + page.getClass().getName(), e);
+        }
+    }
+
+    private static boolean isElementList(final Field field) {
+        if (!List.class.equals(field.getType())
+                || !(field.getGenericType() instanceof ParameterizedType)) {
+            return false;
+        }
+        Type elementType = ((ParameterizedType) field.getGenericType())
+            .getActualTypeArguments()[0];
+        return WebElement.class.equals(elementType)
+            && (field.isAnnotationPresent(FindBy.class)
+                || field.isAnnotationPresent(FindBys.class)
+                || field.isAnnotationPresent(FindAll.class));
+    }
+
+    /**
+     * Translates a field's locator into a {how, using} map for
+     * {@link #LOCATE_FUNCTION}.
+     * @param field the WebElement field
+     * @return the script locator, or null if it cannot be resolved in a script
+     */
+    private static Map<String, Object> scriptLocator(final Field field) {
+        if (field.isAnnotationPresent(FindBys.class) || field.isAnnotationPresent(FindAll.class)) {
+            return null;
+        }
+        FindBy findBy = field.getAnnotation(FindBy.class);
+        if (findBy == null) {
+            return locator("idOrName", field.getName());
+        }
+        if (!findBy.id().isEmpty()) {
+            return locator("id", findBy.id());
+        }
+        if (!findBy.name().isEmpty()) {
+            return locator("name", findBy.name());
+        }
+        if (!findBy.css().isEmpty()) {
+            return locator("css", findBy.css());
+        }
+        if (!findBy.xpath().isEmpty()) {
+            return locator("xpath", findBy.xpath());
+        }
+        if (!findBy.className().isEmpty()) {
+            return locator("className", findBy.className());
+        }
+        if (!findBy.tagName().isEmpty()) {
+            return locator("tagName", findBy.tagName());
+        }
+        return scriptLocator(findBy.how(), findBy.using());
+    }
+
+    private static Map<String, Object> scriptLocator(final How how, final String using) {
+        switch (how) {
+            case ID:
+                return locator("id", using);
+            case NAME:
+                return locator("name", using);
+            case ID_OR_NAME:
+                return locator("idOrName", using);
+            case CSS:
+                return locator("css", using);
+            case XPATH:
+                return locator("xpath", using);
+            case CLASS_NAME:
+                return locator("className", using);
+            case TAG_NAME:
+                return locator("tagName", using);
+            default:
+                return null;
+        }
+    }
+
+    private static Map<String, Object> locator(final String how, final String using) {
+        Map<String, Object> locator = new HashMap<>();
+        locator.put("how", how);
+        locator.put("using", using);
+        return Collections.unmodifiableMap(locator);
+    }
+
+    /**
+     * Metadata of a single page object field.
+     */
+    static final class FieldInfo {
+        /** The reflected field, made accessible. */
+        private final Field field;
+        /** The locator built from the field's annotations. */
+        private final By by;
+        /** The script form of the locator, or null if it has none. */
+        private final Map<String, Object> scriptLocator;
+
+        private FieldInfo(final Field pageField) {
+            this.field = pageField;
+            this.by = new Annotations(pageField).buildBy();
+            this.scriptLocator = WebElement.class.equals(pageField.getType())
+                ? PageFields.scriptLocator(pageField)
+                : null;
+        }
+
+        /**
+         * Gets the field name.
+         * @return the field name
+         */
+        String getName() {
+            return field.getName();
+        }
+
+        /**
+         * Gets the field's current value on a page instance.
+         * @param page the page object instance
+         * @return the element proxy held by the field
+         */
+        WebElement getElement(final Object page) {
+            try {
+                return (WebElement) field.get(page);
+            } catch (final IllegalAccessException e) {
+                throw new IllegalStateException(
+                    "Cannot read field " + field.getName(), e
+                );
+            }
+        }
+
+        /**
+         * Gets the script form of the field's locator.
+         * @return the {how, using} map, or null if it cannot be resolved in a script
+         */
+        Map<String, Object> getScriptLocator() {
+            return scriptLocator;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.anil.qa.base;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * PageSnapshot is an immutable view of the state of a page object's elements,
+ * captured in a single browser round trip by {@link BasePage#snapshot()}.
+ * Tests can make any number of assertions against it without further
+ * WebDriver calls.
+ */
+public final class PageSnapshot {
+    /** Element states keyed by field name. */
+    private final Map<String, ElementState> elements;
+
+    /**
+     * Constructs a PageSnapshot.
+     * @param elementStates the element states keyed by field name
+     */
+    PageSnapshot(final Map<String, ElementState> elementStates) {
+        this.elements = Collections.unmodifiableMap(new LinkedHashMap<>(elementStates));
+    }
+
+    /**
+     * Gets the state of one element.
+     * @param fieldName the page object field name
+     * @return the element state
+     * @throws IllegalArgumentException if the field was not captured
+     */
+    public ElementState get(final String fieldName) {
+        ElementState state = elements.get(fieldName);
+        if (state == null) {
+            throw new IllegalArgumentException("Field '" + fieldName
+                    + "' is not part of this snapshot");
+        }
+        return state;
+    }
+
+    /**
+     * Gets all captured element states.
+     * @return the element states keyed by field name
+     */
+    public Map<String, ElementState> getElements() {
+        return elements;
+    }
+
+    /**
+     * Gets the text of an element.
+     * @param fieldName the page object field name
+     * @return the visible text, empty if the element is hidden or absent
+     */
+    public String getText(final String fieldName) {
+        return get(fieldName).getText();
+    }
+
+    /**
+     * Checks if an element is displayed.
+     * @param fieldName the page object field name
+     * @return true if the element is present and displayed
+     */
+    public boolean isDisplayed(final String fieldName) {
+        return get(fieldName).isDisplayed();
+    }
+
+    @Override
+    public String toString() {
+        return "PageSnapshot" + elements;
+    }
+
+    /**
+     * The captured state of a single element.
+     */
+    public static final class ElementState {
+        /** Whether the element was found. */
+        private final boolean present;
+        /** Whether the element was displayed. */
+        private final boolean displayed;
+        /** Whether the element was enabled. */
+        private final boolean enabled;
+        /** Whether the element was selected or checked. */
+        private final boolean selected;
+        /** The visible text of the element. */
+        private final String text;
+        /** The requested attribute values. */
+        private final Map<String, String> attributes;
+
+        /**
+         * Constructs an ElementState.
+         * @param isPresent whether the element was found
+         * @param isDisplayed whether the element was displayed
+         * @param isEnabled whether the element was enabled
+         * @param isSelected whether the element was selected or checked
+         * @param visibleText the visible text
+         * @param attributeValues the requested attribute values
+         */
+        ElementState(final boolean isPresent, final boolean isDisplayed,
+                final boolean isEnabled, final boolean isSelected,
+                final String visibleText, final Map<String, String> attributeValues) {
+            this.present = isPresent;
+            this.displayed = isDisplayed;
+            this.enabled = isEnabled;
+            this.selected = isSelected;
+            this.text = visibleText;
+            this.attributes = Collections.unmodifiableMap(new LinkedHashMap<>(attributeValues));
+        }
+
+        /**
+         * Checks if the element was found.
+         * @return true if present
+         */
+        public boolean isPresent() {
+            return present;
+        }
+
+        /**
+         * Checks if the element was displayed.
+         * @return true if displayed
+         */
+        public boolean isDisplayed() {
+            return displayed;
+        }
+
+        /**
+         * Checks if the element was enabled.
+         * @return true if enabled
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Checks if the element was selected or checked.
+         * @return true if selected
+         */
+        public boolean isSelected() {
+            return selected;
+        }
+
+        /**
+         * Gets the visible text of the element.
+         * @return the text, empty if hidden or absent
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Gets a captured attribute value.
+         * @param name the attribute name
+         * @return the value, or null if absent or not captured
+         */
+        public String getAttribute(final String name) {
+            return attributes.get(name);
+        }
+
+        /**
+         * Gets all captured attribute values.
+         * @return the attribute values keyed by name
+         */
+        public Map<String, String> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public String toString() {
+            return "ElementState{present=" + present + ", displayed=" + displayed
+                    + ", enabled=" + enabled + ", selected=" + selected
+                    + ", text='" + text + "', attributes=" + attributes + "}";
+        }
+    }
+}
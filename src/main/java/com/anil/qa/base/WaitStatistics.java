@@ -0,0 +1,142 @@
+package com.anil.qa.base;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WaitStatistics aggregates explicit-wait times per locator across all threads
+ * so slow elements can be identified after a run.
+ */
+public final class WaitStatistics {
+    /** Statistics keyed by locator description. */
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    private WaitStatistics() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Records one completed wait.
+     * @param key the locator description
+     * @param elapsedNanos the time spent waiting
+     * @param immediate whether the condition held on the first check
+     * @param timedOut whether the wait timed out
+     */
+    public static void record(final String key, final long elapsedNanos,
+            final boolean immediate, final boolean timedOut) {
+        Entry entry = ENTRIES.computeIfAbsent(key, k -> new Entry());
+        entry.count.increment();
+        entry.totalNanos.add(elapsedNanos);
+        entry.maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        if (immediate) {
+            entry.immediate.increment();
+        }
+        if (timedOut) {
+            entry.timeouts.increment();
+        }
+    }
+
+    /**
+     * Gets the statistics for one locator.
+     * @param key the locator description
+     * @return the statistics, or null if nothing was recorded
+     */
+    public static Entry get(final String key) {
+        return ENTRIES.get(key);
+    }
+
+    /**
+     * Formats the locators with the highest total wait time.
+     * @param limit the maximum number of locators to include
+     * @return a multi-line summary, slowest first
+     */
+    public static String summary(final int limit) {
+        StringBuilder summary = new StringBuilder("Wait statistics (slowest first):");
+        ENTRIES.entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, Entry> e) -> e.getValue().getTotalMillis()).reversed())
+                .limit(limit)
+                .forEach(e -> summary.append(System.lineSeparator()).append(String.format(
+                        "  %s: waits=%d, immediate=%d, timeouts=%d, total=%dms, avg=%dms, max=%dms",
+                        e.getKey(), e.getValue().getCount(), e.getValue().getImmediateCount(),
+                        e.getValue().getTimeoutCount(), e.getValue().getTotalMillis(),
+                        e.getValue().getAverageMillis(), e.getValue().getMaxMillis())));
+        return summary.toString();
+    }
+
+    /**
+     * Clears all recorded statistics.
+     */
+    public static void reset() {
+        ENTRIES.clear();
+    }
+
+    /**
+     * Wait statistics for a single locator.
+     */
+    public static final class Entry {
+        /** Number of waits. */
+        private final LongAdder count = new LongAdder();
+        /** Waits satisfied on the first check. */
+        private final LongAdder immediate = new LongAdder();
+        /** Waits that timed out. */
+        private final LongAdder timeouts = new LongAdder();
+        /** Total time spent waiting. */
+        private final LongAdder totalNanos = new LongAdder();
+        /** Longest single wait. */
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        /**
+         * Gets the number of waits.
+         * @return the wait count
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Gets the number of waits satisfied on the first check.
+         * @return the immediate count
+         */
+        public long getImmediateCount() {
+            return immediate.sum();
+        }
+
+        /**
+         * Gets the number of waits that timed out.
+         * @return the timeout count
+         */
+        public long getTimeoutCount() {
+            return timeouts.sum();
+        }
+
+        /**
+         * Gets the total time spent waiting.
+         * @return the total in milliseconds
+         */
+        public long getTotalMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(totalNanos.sum());
+        }
+
+        /**
+         * Gets the average wait time.
+         * @return the average in milliseconds
+         */
+        public long getAverageMillis() {
+            long waits = getCount();
+            return waits == 0 ? 0 : getTotalMillis() / waits;
+        }
+
+        /**
+         * Gets the longest single wait.
+         * @return the maximum in milliseconds
+         */
+        public long getMaxMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+        }
+    }
+}
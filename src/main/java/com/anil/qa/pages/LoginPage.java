@@ -2,6 +2,9 @@ package com.anil.qa.pages;
 
 import com.anil.qa.base.BasePage;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -36,14 +39,17 @@ public class LoginPage extends BasePage {
     private WebElement loginButton;
 
     /**
-     * Logs in with the given username and password.
+     * Logs in with the given username and password. Both fields are filled in
+     * a single browser round trip.
      * @param username the username
      * @param password the password
      */
     @Step("Login as user: {username}")
     public void login(String username, String password) {
-        usernameInput.sendKeys(username);
-        passwordInput.sendKeys(password);
+        Map<String, String> credentials = new LinkedHashMap<>();
+        credentials.put("usernameInput", username);
+        credentials.put("passwordInput", password);
+        fillFields(credentials);
         loginButton.click();
     }
 
@@ -0,0 +1,123 @@
+package com.anil.qa.utils;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+
+/**
+ * ApiConnectionPool owns the single HTTP client shared by all REST calls, so
+ * keep-alive connections are pooled and reused across threads instead of being
+ * opened (and TLS-negotiated) per request. Pool limits, keep-alive, idle
+ * eviction and timeouts come from config.
+ */
+@SuppressWarnings("deprecation")
+public final class ApiConnectionPool {
+    /** Logger instance. */
+    private static final Logger LOGGER = LogManager.getLogger(ApiConnectionPool.class);
+    /** Shared connection manager. */
+    private static PoolingClientConnectionManager connectionManager;
+    /** RestAssured config using the shared client. */
+    private static RestAssuredConfig config;
+    /** Background task evicting expired and idle connections. */
+    private static ScheduledExecutorService evictor;
+
+    private ApiConnectionPool() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Gets the RestAssured config that routes requests through the shared
+     * pooled client, creating the pool on first use.
+     * @return the RestAssuredConfig
+     */
+    public static synchronized RestAssuredConfig config() {
+        if (config == null) {
+            connectionManager = new PoolingClientConnectionManager();
+            connectionManager.setMaxTotal(intProperty("api.pool.max.total", "50"));
+            connectionManager.setDefaultMaxPerRoute(intProperty("api.pool.max.per.route", "20"));
+
+            HttpParams params = new BasicHttpParams();
+            HttpConnectionParams.setConnectionTimeout(params,
+                    intProperty("api.timeout.connect.ms", "5000"));
+            HttpConnectionParams.setSoTimeout(params,
+                    intProperty("api.timeout.socket.ms", "30000"));
+            long keepAliveMs = TimeUnit.SECONDS.toMillis(
+                    intProperty("api.pool.keepalive.seconds", "30"));
+            ConnectionKeepAliveStrategy keepAlive = (response, context) -> {
+                long server = DefaultConnectionKeepAliveStrategy.INSTANCE
+                        .getKeepAliveDuration(response, context);
+                return server > 0 ? Math.min(server, keepAliveMs) : keepAliveMs;
+            };
+            PoolingClientConnectionManager manager = connectionManager;
+
+            config = RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                    .reuseHttpClientInstance()
+                    .httpClientFactory(() -> {
+                        DefaultHttpClient client = new DefaultHttpClient(manager, params);
+                        client.setKeepAliveStrategy(keepAlive);
+                        return client;
+                    }));
+            startEvictor();
+            LOGGER.info("API connection pool created: max total {}, max per route {}",
+                    connectionManager.getMaxTotal(), connectionManager.getDefaultMaxPerRoute());
+        }
+        return config;
+    }
+
+    /**
+     * Gets the current pool statistics.
+     * @return leased, available, pending and max connections, or null if the
+     *         pool has not been created yet
+     */
+    public static synchronized PoolStats getStats() {
+        return connectionManager == null ? null : connectionManager.getTotalStats();
+    }
+
+    /**
+     * Stops idle eviction and closes all idle connections. The pool stays
+     * usable and opens new connections on demand.
+     */
+    public static synchronized void shutdown() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+            evictor = null;
+        }
+        if (connectionManager != null) {
+            LOGGER.info("API connection pool stats at shutdown: {}", getStats());
+            connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void startEvictor() {
+        int idleSeconds = intProperty("api.pool.idle.timeout.seconds", "30");
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "api-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        PoolingClientConnectionManager manager = connectionManager;
+        long period = Math.max(1, idleSeconds / 2);
+        evictor.scheduleWithFixedDelay(() -> {
+            manager.closeExpiredConnections();
+            manager.closeIdleConnections(idleSeconds, TimeUnit.SECONDS);
+        }, period, period, TimeUnit.SECONDS);
+    }
+
+    private static int intProperty(final String key, final String defaultValue) {
+        return Integer.parseInt(ConfigManager.getProperty(key, defaultValue));
+    }
+}
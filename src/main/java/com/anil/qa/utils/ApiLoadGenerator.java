@@ -0,0 +1,287 @@
+package com.anil.qa.utils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * ApiLoadGenerator runs an {@link ApiRequest} repeatedly for a fixed duration
+ * and records every latency into a {@link LatencyHistogram}.
+ * <ul>
+ *   <li>Open model: requests start at a target rate whether or not earlier
+ *   ones have completed. Latency is measured from the intended start time, so
+ *   a slow server is not hidden by the generator falling behind.</li>
+ *   <li>Closed model: a fixed number of workers each send the next request as
+ *   soon as the previous one completes.</li>
+ * </ul>
+ * Requests go through the same pooled client, base URI, headers and auth as
+ * {@link ApiUtils}, without per-request logging. They are kept out of the
+ * response time budgets, the failure log buffer and record/replay, since load
+ * traffic is not a functional check. The summary is logged and, if
+ * a report test is active, written to the report. Concurrency above
+ * api.pool.max.per.route queues on the connection pool.
+ */
+public final class ApiLoadGenerator {
+    /** Logger instance. */
+    private static final Logger LOGGER = LogManager.getLogger(ApiLoadGenerator.class);
+
+    /** Produces the request to send for each iteration. */
+    private final Supplier<ApiRequest> requests;
+    /** Requests per second in the open model, or 0 for the closed model. */
+    private final double rate;
+    /** Number of workers in the closed model. */
+    private final int concurrency;
+    /** How long to generate load. */
+    private final Duration duration;
+    /** Maximum threads sending requests in the open model. */
+    private final int maxThreads;
+    /** Status codes counted as successful. */
+    private final IntPredicate success;
+
+    private ApiLoadGenerator(final Supplier<ApiRequest> requestSupplier,
+            final double requestRate, final int workers, final Duration runDuration,
+            final int threads, final IntPredicate successStatus) {
+        this.requests = requestSupplier;
+        this.rate = requestRate;
+        this.concurrency = workers;
+        this.duration = runDuration;
+        this.maxThreads = threads;
+        this.success = successStatus;
+    }
+
+    /**
+     * Creates an open-model generator sending requests at a fixed rate.
+     * @param request the request to send
+     * @param requestsPerSecond the target rate
+     * @param duration how long to generate load
+     * @return the generator
+     */
+    public static ApiLoadGenerator openModel(final ApiRequest request,
+            final double requestsPerSecond, final Duration duration) {
+        return openModel(() -> request, requestsPerSecond, duration);
+    }
+
+    /**
+     * Creates an open-model generator sending requests at a fixed rate.
+     * @param requests produces the request for each iteration
+     * @param requestsPerSecond the target rate
+     * @param duration how long to generate load
+     * @return the generator
+     */
+    public static ApiLoadGenerator openModel(final Supplier<ApiRequest> requests,
+            final double requestsPerSecond, final Duration duration) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + requestsPerSecond);
+        }
+        return new ApiLoadGenerator(requests, requestsPerSecond, 0, duration,
+                Integer.parseInt(ConfigManager.getProperty("api.load.max.threads", "200")),
+                ApiLoadGenerator::isSuccessStatus);
+    }
+
+    /**
+     * Creates a closed-model generator with a fixed number of workers.
+     * @param request the request to send
+     * @param concurrency the number of workers
+     * @param duration how long to generate load
+     * @return the generator
+     */
+    public static ApiLoadGenerator closedModel(final ApiRequest request,
+            final int concurrency, final Duration duration) {
+        return closedModel(() -> request, concurrency, duration);
+    }
+
+    /**
+     * Creates a closed-model generator with a fixed number of workers.
+     * @param requests produces the request for each iteration
+     * @param concurrency the number of workers
+     * @param duration how long to generate load
+     * @return the generator
+     */
+    public static ApiLoadGenerator closedModel(final Supplier<ApiRequest> requests,
+            final int concurrency, final Duration duration) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+        }
+        return new ApiLoadGenerator(requests, 0, concurrency, duration, concurrency,
+                ApiLoadGenerator::isSuccessStatus);
+    }
+
+    /**
+     * Returns a copy of this generator with a different open-model thread limit.
+     * @param threads the maximum number of threads sending requests
+     * @return the new generator
+     */
+    public ApiLoadGenerator withMaxThreads(final int threads) {
+        return new ApiLoadGenerator(requests, rate, concurrency, duration, threads, success);
+    }
+
+    /**
+     * Returns a copy of this generator with a different success criterion.
+     * By default status codes below 400 are successful.
+     * @param successStatus tests whether a status code is successful
+     * @return the new generator
+     */
+    public ApiLoadGenerator withSuccess(final IntPredicate successStatus) {
+        return new ApiLoadGenerator(requests, rate, concurrency, duration, maxThreads,
+                successStatus);
+    }
+
+    /**
+     * Generates load for the configured duration and waits for in-flight
+     * requests to finish.
+     * @return the result
+     */
+    public ApiLoadResult run() {
+        String model = rate > 0
+                ? String.format("open model, %.1f req/s", rate)
+                : "closed model, " + concurrency + " workers";
+        LOGGER.info("Generating API load ({}) for {}", model, duration);
+        Recorder recorder = new Recorder();
+        long start = System.nanoTime();
+        if (rate > 0) {
+            runOpen(recorder, start);
+        } else {
+            runClosed(recorder, start);
+        }
+        ApiLoadResult result = new ApiLoadResult(model, System.nanoTime() - start,
+                recorder.histogram, recorder.successes.sum(), recorder.failures.sum(),
+                recorder.errors.sum(), recorder.statusCounts(), recorder.errorCounts());
+        LOGGER.info(result.summary());
+        if (ReportManager.isTestActive()) {
+            ReportManager.logPreformatted(result.summary());
+        }
+        return result;
+    }
+
+    private void runOpen(final Recorder recorder, final long start) {
+        ExecutorService executor = newExecutor(maxThreads);
+        double interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long end = start + duration.toNanos();
+        try {
+            for (long i = 0;; i++) {
+                long intended = start + (long) (i * interval);
+                if (intended >= end) {
+                    break;
+                }
+                long delay;
+                while ((delay = intended - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                executor.execute(() -> send(recorder, intended));
+            }
+        } finally {
+            drain(executor);
+        }
+    }
+
+    private void runClosed(final Recorder recorder, final long start) {
+        ExecutorService executor = newExecutor(concurrency);
+        long end = start + duration.toNanos();
+        try {
+            for (int i = 0; i < concurrency; i++) {
+                executor.execute(() -> {
+                    long now;
+                    while ((now = System.nanoTime()) < end
+                            && !Thread.currentThread().isInterrupted()) {
+                        send(recorder, now);
+                    }
+                });
+            }
+        } finally {
+            drain(executor);
+        }
+    }
+
+    private void send(final Recorder recorder, final long intendedStart) {
+        try {
+            int status = ApiUtils.executeLoad(requests.get()).getStatusCode();
+            recorder.statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+            if (success.test(status)) {
+                recorder.successes.increment();
+            } else {
+                recorder.failures.increment();
+            }
+        } catch (final RuntimeException e) {
+            recorder.errors.increment();
+            recorder.errorTypes.computeIfAbsent(e.getClass().getSimpleName(),
+                    key -> new LongAdder()).increment();
+        } finally {
+            recorder.histogram.recordNanos(System.nanoTime() - intendedStart);
+        }
+    }
+
+    private static ExecutorService newExecutor(final int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "api-load-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private static void drain(final ExecutorService executor) {
+        executor.shutdown();
+        long timeout = Long.parseLong(ConfigManager.getProperty("api.load.drain.seconds", "30"));
+        try {
+            if (!executor.awaitTermination(timeout, TimeUnit.SECONDS)) {
+                LOGGER.warn("API load requests still running after {}s; abandoning them",
+                        timeout);
+                executor.shutdownNow();
+            }
+        } catch (final InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean isSuccessStatus(final int status) {
+        return status < 400;
+    }
+
+    /**
+     * Counters shared by the threads of one run.
+     */
+    private static final class Recorder {
+        /** Latency of every request. */
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        /** Requests with a successful status. */
+        private final LongAdder successes = new LongAdder();
+        /** Requests with an unsuccessful status. */
+        private final LongAdder failures = new LongAdder();
+        /** Requests that threw instead of returning a response. */
+        private final LongAdder errors = new LongAdder();
+        /** Responses per status code. */
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        /** Errors per exception type. */
+        private final Map<String, LongAdder> errorTypes = new ConcurrentHashMap<>();
+
+        Map<Integer, Long> statusCounts() {
+            return sums(statuses);
+        }
+
+        Map<String, Long> errorCounts() {
+            return sums(errorTypes);
+        }
+
+        private static <K> Map<K, Long> sums(final Map<K, LongAdder> counters) {
+            Map<K, Long> sums = new TreeMap<>();
+            counters.forEach((key, counter) -> sums.put(key, counter.sum()));
+            return sums;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.anil.qa.utils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiLoadResult is the outcome of an {@link ApiLoadGenerator} run: latency
+ * histogram, throughput, and counts of successful, failed and errored requests.
+ */
+public final class ApiLoadResult {
+    /** Description of the load model. */
+    private final String model;
+    /** Wall-clock time of the run in nanoseconds. */
+    private final long elapsedNanos;
+    /** Latency of every request. */
+    private final LatencyHistogram histogram;
+    /** Requests with a successful status. */
+    private final long successes;
+    /** Requests with an unsuccessful status. */
+    private final long failures;
+    /** Requests that threw instead of returning a response. */
+    private final long errors;
+    /** Responses per status code. */
+    private final Map<Integer, Long> statusCounts;
+    /** Errors per exception type. */
+    private final Map<String, Long> errorCounts;
+
+    ApiLoadResult(final String loadModel, final long elapsed, final LatencyHistogram latencies,
+            final long successCount, final long failureCount, final long errorCount,
+            final Map<Integer, Long> statuses, final Map<String, Long> errorTypes) {
+        this.model = loadModel;
+        this.elapsedNanos = elapsed;
+        this.histogram = latencies;
+        this.successes = successCount;
+        this.failures = failureCount;
+        this.errors = errorCount;
+        this.statusCounts = Collections.unmodifiableMap(statuses);
+        this.errorCounts = Collections.unmodifiableMap(errorTypes);
+    }
+
+    /**
+     * Gets the latency histogram.
+     * @return the histogram of all requests
+     */
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * Gets the number of requests sent.
+     * @return the request count
+     */
+    public long getCount() {
+        return successes + failures + errors;
+    }
+
+    /**
+     * Gets the number of requests with a successful status.
+     * @return the success count
+     */
+    public long getSuccesses() {
+        return successes;
+    }
+
+    /**
+     * Gets the number of requests with an unsuccessful status.
+     * @return the failure count
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Gets the number of requests that produced no response.
+     * @return the error count
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Gets the number of responses per status code.
+     * @return the counts, sorted by status code
+     */
+    public Map<Integer, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    /**
+     * Gets the number of errors per exception type.
+     * @return the counts, sorted by exception name
+     */
+    public Map<String, Long> getErrorCounts() {
+        return errorCounts;
+    }
+
+    /**
+     * Gets the achieved throughput.
+     * @return completed requests per second of wall-clock time
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : getCount() * (double) TimeUnit.SECONDS.toNanos(1)
+                / elapsedNanos;
+    }
+
+    /**
+     * Formats the result over several lines.
+     * @return the summary
+     */
+    public String summary() {
+        String nl = System.lineSeparator();
+        StringBuilder out = new StringBuilder("API load result (").append(model).append(')')
+                .append(nl).append(String.format("requests=%d, successes=%d, failures=%d, "
+                        + "errors=%d, throughput=%.1f req/s, elapsed=%.1fs", getCount(),
+                        successes, failures, errors, getThroughput(), elapsedNanos / 1e9))
+                .append(nl).append("latency: ").append(histogram.summary());
+        if (!statusCounts.isEmpty()) {
+            out.append(nl).append("status codes: ").append(statusCounts);
+        }
+        if (!errorCounts.isEmpty()) {
+            out.append(nl).append("errors: ").append(errorCounts);
+        }
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+}
@@ -0,0 +1,281 @@
+package com.anil.qa.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * ApiLogBuffer replaces RestAssured's log().all() with a cheap capture: each
+ * request/response exchange of a test is kept in a bounded ring and only
+ * formatted when the test finishes and api.log.mode asks for it. Of the
+ * response only the status line, headers and truncated body are kept, so the
+ * ring does not pin whole responses.
+ * <ul>
+ *   <li>off: nothing is captured</li>
+ *   <li>on-failure: exchanges are rendered only for failed tests (default)</li>
+ *   <li>always: exchanges are rendered for every test</li>
+ * </ul>
+ * Bodies are truncated to api.log.body.max.chars and the ring keeps the last
+ * api.log.buffer.size exchanges. Settings are read when a test starts.
+ * Authorization header values are masked.
+ */
+public final class ApiLogBuffer implements Filter {
+    /** Shared filter instance; all state lives in the per-test buffers. */
+    private static final ApiLogBuffer FILTER = new ApiLogBuffer();
+    /** Buffer of the test running on this thread. */
+    private static final ThreadLocal<Buffer> CURRENT = ThreadLocal.withInitial(Buffer::new);
+
+    /**
+     * Logging modes.
+     */
+    public enum Mode {
+        /** Capture nothing. */
+        OFF,
+        /** Render the buffer when a test fails. */
+        ON_FAILURE,
+        /** Render the buffer after every test. */
+        ALWAYS;
+
+        /**
+         * Parses a mode name such as "on-failure".
+         * @param value the configured value
+         * @return the mode
+         */
+        public static Mode fromConfig(final String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private ApiLogBuffer() {
+        // Use ApiLogBuffer.filter
+    }
+
+    /**
+     * Gets the filter to add to request specifications.
+     * @return the shared filter
+     */
+    public static Filter filter() {
+        return FILTER;
+    }
+
+    /**
+     * Gets the configured logging mode.
+     * @return the api.log.mode setting
+     */
+    public static Mode getMode() {
+        return Mode.fromConfig(ConfigManager.getProperty("api.log.mode", "on-failure"));
+    }
+
+    /**
+     * Starts a new test on the current thread, discarding earlier exchanges
+     * and reading the logging settings for it.
+     */
+    public static void startTest() {
+        CURRENT.set(new Buffer());
+    }
+
+    /**
+     * Finishes the current thread's test.
+     * @param failed whether the test failed
+     * @return the rendered exchanges if the mode asks for them, otherwise null
+     */
+    public static String finishTest(final boolean failed) {
+        Buffer buffer = CURRENT.get();
+        CURRENT.remove();
+        Mode mode = buffer.mode;
+        if (mode == Mode.ALWAYS || (mode == Mode.ON_FAILURE && failed)) {
+            return buffer.render();
+        }
+        return null;
+    }
+
+    /**
+     * Wraps a task so that, on whatever thread it runs, its exchanges are
+     * captured into the calling thread's buffer.
+     * @param task the task to wrap
+     * @param <T> the task result type
+     * @return the wrapped task
+     */
+    public static <T> Supplier<T> bind(final Supplier<T> task) {
+        Buffer buffer = CURRENT.get();
+        return () -> {
+            Buffer previous = CURRENT.get();
+            CURRENT.set(buffer);
+            try {
+                return task.get();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    @Override
+    public Response filter(final FilterableRequestSpecification requestSpec,
+            final FilterableResponseSpecification responseSpec, final FilterContext ctx) {
+        Buffer buffer = CURRENT.get();
+        if (buffer.mode == Mode.OFF) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        long start = System.nanoTime();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            buffer.add(new Exchange(requestSpec, response, null, System.nanoTime() - start,
+                    buffer.maxChars));
+            return response;
+        } catch (final RuntimeException e) {
+            buffer.add(new Exchange(requestSpec, null, e, System.nanoTime() - start,
+                    buffer.maxChars));
+            throw e;
+        }
+    }
+
+    /**
+     * Bounded ring of the exchanges of one test.
+     */
+    private static final class Buffer {
+        /** Logging mode of this test. */
+        private final Mode mode = getMode();
+        /** Maximum characters kept of a body, or negative for no limit. */
+        private final int maxChars = Integer.parseInt(
+                ConfigManager.getProperty("api.log.body.max.chars", "4000"));
+        /** Maximum number of exchanges kept. */
+        private final int capacity = Integer.parseInt(
+                ConfigManager.getProperty("api.log.buffer.size", "20"));
+        /** The most recent exchanges, oldest first. */
+        private final Deque<Exchange> exchanges = new ArrayDeque<>();
+        /** Number of exchanges evicted from the ring. */
+        private int dropped;
+
+        synchronized void add(final Exchange exchange) {
+            if (capacity <= 0) {
+                dropped++;
+                return;
+            }
+            if (exchanges.size() == capacity) {
+                exchanges.removeFirst();
+                dropped++;
+            }
+            exchanges.addLast(exchange);
+        }
+
+        String render() {
+            List<Exchange> snapshot;
+            int evicted;
+            synchronized (this) {
+                if (exchanges.isEmpty()) {
+                    return null;
+                }
+                snapshot = new ArrayList<>(exchanges);
+                evicted = dropped;
+            }
+            StringBuilder out = new StringBuilder("API exchanges");
+            if (evicted > 0) {
+                out.append(" (").append(evicted).append(" earlier not kept)");
+            }
+            out.append(':');
+            for (Exchange exchange : snapshot) {
+                exchange.render(out, maxChars);
+            }
+            return out.toString();
+        }
+    }
+
+    /**
+     * One captured request and the status, headers and truncated body of its
+     * response, or its error.
+     */
+    private static final class Exchange {
+        /** HTTP method. */
+        private final String method;
+        /** Full request URI. */
+        private final String uri;
+        /** Request headers. */
+        private final Headers requestHeaders;
+        /** Request body, or null. */
+        private final Object requestBody;
+        /** Response status line, or null if the request failed. */
+        private final String statusLine;
+        /** Response headers, or null. */
+        private final Headers responseHeaders;
+        /** Truncated response body, or null if empty. */
+        private final String responseBody;
+        /** Failure, or null. */
+        private final RuntimeException error;
+        /** Round trip time in nanoseconds. */
+        private final long nanos;
+
+        Exchange(final FilterableRequestSpecification request, final Response result,
+                final RuntimeException failure, final long elapsed, final int maxChars) {
+            this.method = request.getMethod();
+            this.uri = request.getURI();
+            this.requestHeaders = request.getHeaders();
+            this.requestBody = request.getBody();
+            if (result == null) {
+                this.statusLine = null;
+                this.responseHeaders = null;
+                this.responseBody = null;
+            } else {
+                this.statusLine = result.getStatusLine();
+                this.responseHeaders = result.getHeaders();
+                String body = result.getBody().asString();
+                this.responseBody = body == null || body.isEmpty()
+                        ? null
+                        : truncate(body, maxChars);
+            }
+            this.error = failure;
+            this.nanos = elapsed;
+        }
+
+        void render(final StringBuilder out, final int maxChars) {
+            String nl = System.lineSeparator();
+            out.append(nl).append(nl).append("--> ").append(method).append(' ').append(uri);
+            appendHeaders(out, requestHeaders);
+            if (requestBody != null) {
+                out.append(nl).append(truncate(String.valueOf(requestBody), maxChars));
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            if (statusLine == null) {
+                out.append(nl).append("<-- failed after ").append(millis).append(" ms: ")
+                        .append(error);
+                return;
+            }
+            out.append(nl).append("<-- ").append(statusLine)
+                    .append(" (").append(millis).append(" ms)");
+            appendHeaders(out, responseHeaders);
+            if (responseBody != null) {
+                out.append(nl).append(responseBody);
+            }
+        }
+
+        private static void appendHeaders(final StringBuilder out, final Headers headers) {
+            if (headers == null) {
+                return;
+            }
+            for (Header header : headers) {
+                out.append(System.lineSeparator()).append(header.getName()).append(": ")
+                        .append("Authorization".equalsIgnoreCase(header.getName())
+                                ? "****" : header.getValue());
+            }
+        }
+
+        private static String truncate(final String text, final int maxChars) {
+            if (maxChars < 0 || text.length() <= maxChars) {
+                return text;
+            }
+            return text.substring(0, maxChars) + "... [" + (text.length() - maxChars)
+                    + " more chars]";
+        }
+    }
+}
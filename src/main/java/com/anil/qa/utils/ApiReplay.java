@@ -0,0 +1,488 @@
+package com.anil.qa.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * ApiReplay records the API calls of a test class to a fixture file and
+ * replays them offline from an embedded HTTP server.
+ * <ul>
+ *   <li>record: calls go to the real endpoints and every exchange is written
+ *   to {@code <api.replay.dir>/<TestClass>.json} when the class finishes</li>
+ *   <li>replay: calls are redirected to a local server that answers from the
+ *   fixture file, matching method, path, query and body</li>
+ *   <li>off: calls are left alone (default)</li>
+ * </ul>
+ * The mode comes from api.replay.mode and can be overridden per test class
+ * with api.replay.mode.&lt;SimpleClassName&gt;. Repeated identical requests
+ * are answered in recorded order, the last response repeating once exhausted.
+ */
+public final class ApiReplay implements Filter {
+    /** Logger instance. */
+    private static final Logger LOGGER = LogManager.getLogger(ApiReplay.class);
+    /** Header telling the replay server which test class a request is from. */
+    static final String CLASS_HEADER = "X-Api-Replay-Class";
+    /** Response headers not worth recording. */
+    private static final List<String> SKIPPED_HEADERS = Arrays.asList(
+            "content-length", "content-encoding", "transfer-encoding", "connection", "date",
+            "keep-alive");
+    /** Shared filter instance. */
+    private static final ApiReplay FILTER = new ApiReplay();
+    /** Mapper for fixture files and body normalization. */
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+    /** Sessions of the running test classes, keyed by class name. */
+    private static final Map<String, Session> SESSIONS = new ConcurrentHashMap<>();
+    /** Session bound to the current thread, or null. */
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+    /** Embedded replay server, started on first use. */
+    private static HttpServer server;
+    /** Threads of the replay server. */
+    private static ExecutorService serverThreads;
+
+    /**
+     * Replay modes.
+     */
+    public enum Mode {
+        /** Calls are left alone. */
+        OFF,
+        /** Calls are captured into fixtures. */
+        RECORD,
+        /** Calls are answered from fixtures. */
+        REPLAY
+    }
+
+    private ApiReplay() {
+        // Use ApiReplay.filter
+    }
+
+    /**
+     * Gets the filter to add to request specifications.
+     * @return the shared filter
+     */
+    public static Filter filter() {
+        return FILTER;
+    }
+
+    /**
+     * Gets the mode configured for a test class.
+     * @param testClass the test class
+     * @return the mode
+     */
+    public static Mode getMode(final Class<?> testClass) {
+        String mode = ConfigManager.getProperty("api.replay.mode." + testClass.getSimpleName(),
+                ConfigManager.getProperty("api.replay.mode", "off"));
+        return Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Starts recording or replaying a test class, as configured. In replay
+     * mode the fixture file must exist.
+     * @param testClass the test class
+     */
+    public static void startClass(final Class<?> testClass) {
+        Mode mode = getMode(testClass);
+        if (mode == Mode.OFF) {
+            return;
+        }
+        Path fixture = Paths.get(ConfigManager.getProperty("api.replay.dir",
+                "src/test/resources/api-fixtures"), testClass.getSimpleName() + ".json");
+        Session session = new Session(testClass.getName(), mode, fixture);
+        if (mode == Mode.REPLAY) {
+            session.load();
+            startServer();
+        }
+        SESSIONS.put(session.name, session);
+        LOGGER.info("API {} mode for {} using {}", mode.name().toLowerCase(Locale.ROOT),
+                testClass.getSimpleName(), fixture);
+    }
+
+    /**
+     * Binds the current thread to a test class's session, if it has one.
+     * @param testClass the test class
+     */
+    public static void activate(final Class<?> testClass) {
+        Session session = SESSIONS.get(testClass.getName());
+        if (session == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(session);
+        }
+    }
+
+    /**
+     * Unbinds the current thread.
+     */
+    public static void deactivate() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Finishes a test class, writing its fixture file in record mode.
+     * @param testClass the test class
+     */
+    public static void finishClass(final Class<?> testClass) {
+        Session session = SESSIONS.remove(testClass.getName());
+        if (session != null && session.mode == Mode.RECORD) {
+            session.save();
+        }
+    }
+
+    /**
+     * Wraps a task so that, on whatever thread it runs, it uses the calling
+     * thread's session.
+     * @param task the task to wrap
+     * @param <T> the task result type
+     * @return the wrapped task
+     */
+    public static <T> Supplier<T> bind(final Supplier<T> task) {
+        Session session = CURRENT.get();
+        if (session == null) {
+            return task;
+        }
+        return () -> {
+            Session previous = CURRENT.get();
+            CURRENT.set(session);
+            try {
+                return task.get();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Stops the replay server.
+     */
+    public static synchronized void shutdown() {
+        if (server != null) {
+            server.stop(0);
+            serverThreads.shutdownNow();
+            server = null;
+        }
+    }
+
+    /**
+     * Redirects an endpoint to the replay server if the current thread is
+     * replaying.
+     * @param endpoint the endpoint URL or path
+     * @return the replay server URL, or the endpoint itself when not replaying
+     */
+    static String redirect(final String endpoint) {
+        Session session = CURRENT.get();
+        if (session == null || session.mode != Mode.REPLAY) {
+            return endpoint;
+        }
+        URI original = URI.create(ApiUtils.resolveEndpoint(endpoint));
+        String pathAndQuery = (original.getRawPath() == null || original.getRawPath().isEmpty()
+                ? "/" : original.getRawPath())
+                + (original.getRawQuery() == null ? "" : "?" + original.getRawQuery());
+        return "http://localhost:" + server.getAddress().getPort() + pathAndQuery;
+    }
+
+    /**
+     * Gets the {@link #CLASS_HEADER} value to send with a redirected request.
+     * @return the test class name, or null when not replaying
+     */
+    static String replayClass() {
+        Session session = CURRENT.get();
+        return session == null || session.mode != Mode.REPLAY ? null : session.name;
+    }
+
+    @Override
+    public Response filter(final FilterableRequestSpecification requestSpec,
+            final FilterableResponseSpecification responseSpec, final FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        Session session = CURRENT.get();
+        if (session != null && session.mode == Mode.RECORD) {
+            URI uri = URI.create(requestSpec.getURI());
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (Header header : response.getHeaders()) {
+                if (!SKIPPED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                    headers.putIfAbsent(header.getName(), header.getValue());
+                }
+            }
+            Object body = requestSpec.getBody();
+            session.record(new Exchange(requestSpec.getMethod(), uri.getRawPath(),
+                    uri.getRawQuery(), body == null ? null : bodyText(body),
+                    response.getStatusCode(), headers, response.getBody().asString()));
+        }
+        return response;
+    }
+
+    private static String bodyText(final Object body) {
+        if (body instanceof String) {
+            return (String) body;
+        }
+        if (body instanceof byte[]) {
+            return new String((byte[]) body, StandardCharsets.UTF_8);
+        }
+        try {
+            return MAPPER.writeValueAsString(body);
+        } catch (final IOException e) {
+            return String.valueOf(body);
+        }
+    }
+
+    /**
+     * Builds the key requests are matched on: method, path, sorted query and
+     * the body, with JSON bodies normalized so key order does not matter.
+     */
+    private static String matchKey(final String method, final String path, final String query,
+            final String body) {
+        StringBuilder key = new StringBuilder(method.toUpperCase(Locale.ROOT)).append(' ')
+                .append(path == null || path.isEmpty() ? "/" : path);
+        if (query != null && !query.isEmpty()) {
+            String[] params = query.split("&");
+            Arrays.sort(params);
+            key.append('?').append(String.join("&", params));
+        }
+        if (body != null && !body.isEmpty()) {
+            key.append('\n').append(normalizeBody(body));
+        }
+        return key.toString();
+    }
+
+    private static String normalizeBody(final String body) {
+        try {
+            JsonNode tree = MAPPER.readTree(body);
+            return MAPPER.writeValueAsString(MAPPER.treeToValue(tree, Object.class));
+        } catch (final IOException e) {
+            return body.trim();
+        }
+    }
+
+    private static synchronized void startServer() {
+        if (server != null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (final IOException e) {
+            throw new IllegalStateException("Cannot start the API replay server", e);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        serverThreads = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "api-replay-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(serverThreads);
+        server.createContext("/", ApiReplay::serve);
+        server.start();
+        LOGGER.info("API replay server listening on port {}", server.getAddress().getPort());
+    }
+
+    private static void serve(final HttpExchange exchange) throws IOException {
+        try {
+            byte[] requestBody;
+            try (InputStream in = exchange.getRequestBody()) {
+                requestBody = in.readAllBytes();
+            }
+            URI uri = exchange.getRequestURI();
+            String key = matchKey(exchange.getRequestMethod(), uri.getRawPath(),
+                    uri.getRawQuery(), new String(requestBody, StandardCharsets.UTF_8));
+            Session session = SESSIONS.get(String.valueOf(
+                    exchange.getRequestHeaders().getFirst(CLASS_HEADER)));
+            Exchange recorded = session == null ? null : session.next(key);
+            if (recorded == null) {
+                LOGGER.error("No recorded response for {}", key);
+                byte[] message = ("No recorded response for " + key)
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(501, message.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(message);
+                }
+                return;
+            }
+            recorded.headers.forEach((name, value) ->
+                    exchange.getResponseHeaders().add(name, value));
+            byte[] body = recorded.body == null
+                    ? new byte[0]
+                    : recorded.body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(recorded.status, body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * The recordings of one test class.
+     */
+    private static final class Session {
+        /** Test class name. */
+        private final String name;
+        /** Record or replay. */
+        private final Mode mode;
+        /** Fixture file. */
+        private final Path fixture;
+        /** Exchanges captured in record mode, in call order. */
+        private final List<Exchange> recorded = new ArrayList<>();
+        /** Exchanges to replay, by match key, in recorded order. */
+        private final Map<String, List<Exchange>> replay = new HashMap<>();
+        /** Number of times each match key has been served. */
+        private final Map<String, Integer> served = new HashMap<>();
+
+        Session(final String className, final Mode sessionMode, final Path fixtureFile) {
+            this.name = className;
+            this.mode = sessionMode;
+            this.fixture = fixtureFile;
+        }
+
+        synchronized void record(final Exchange exchange) {
+            recorded.add(exchange);
+        }
+
+        synchronized Exchange next(final String key) {
+            List<Exchange> candidates = replay.get(key);
+            if (candidates == null) {
+                return null;
+            }
+            int index = served.merge(key, 1, Integer::sum) - 1;
+            return candidates.get(Math.min(index, candidates.size() - 1));
+        }
+
+        void load() {
+            if (!Files.exists(fixture)) {
+                throw new IllegalStateException("No API fixture to replay: " + fixture
+                        + "; run once with api.replay.mode=record");
+            }
+            try {
+                for (JsonNode node : MAPPER.readTree(fixture.toFile()).path("exchanges")) {
+                    Exchange exchange = Exchange.fromJson(node);
+                    replay.computeIfAbsent(exchange.key(), key -> new ArrayList<>())
+                            .add(exchange);
+                }
+            } catch (final IOException e) {
+                throw new IllegalStateException("Cannot read API fixture " + fixture, e);
+            }
+        }
+
+        synchronized void save() {
+            if (recorded.isEmpty()) {
+                return;
+            }
+            ObjectNode root = MAPPER.createObjectNode();
+            ArrayNode exchanges = root.putArray("exchanges");
+            recorded.forEach(exchange -> exchanges.add(exchange.toJson()));
+            try {
+                Path dir = fixture.toAbsolutePath().getParent();
+                Files.createDirectories(dir);
+                Path temp = Files.createTempFile(dir, fixture.getFileName().toString(), ".tmp");
+                MAPPER.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), root);
+                Files.move(temp, fixture, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                LOGGER.info("Recorded {} API exchanges to {}", recorded.size(), fixture);
+            } catch (final IOException e) {
+                LOGGER.error("Failed to write API fixture {}", fixture, e);
+            }
+        }
+    }
+
+    /**
+     * One recorded request and response.
+     */
+    private static final class Exchange {
+        /** HTTP method. */
+        private final String method;
+        /** Raw request path. */
+        private final String path;
+        /** Raw query string, or null. */
+        private final String query;
+        /** Request body, or null. */
+        private final String requestBody;
+        /** Response status code. */
+        private final int status;
+        /** Response headers. */
+        private final Map<String, String> headers;
+        /** Response body. */
+        private final String body;
+
+        Exchange(final String httpMethod, final String requestPath, final String queryString,
+                final String request, final int statusCode,
+                final Map<String, String> responseHeaders, final String responseBody) {
+            this.method = httpMethod;
+            this.path = requestPath;
+            this.query = queryString;
+            this.requestBody = request;
+            this.status = statusCode;
+            this.headers = responseHeaders;
+            this.body = responseBody;
+        }
+
+        String key() {
+            return matchKey(method, path, query, requestBody);
+        }
+
+        ObjectNode toJson() {
+            ObjectNode node = MAPPER.createObjectNode();
+            node.put("method", method);
+            node.put("path", path);
+            node.put("query", query);
+            node.put("requestBody", requestBody);
+            node.put("status", status);
+            ObjectNode headerNode = node.putObject("headers");
+            headers.forEach(headerNode::put);
+            node.put("body", body);
+            return node;
+        }
+
+        static Exchange fromJson(final JsonNode node) {
+            Map<String, String> headers = new LinkedHashMap<>();
+            node.path("headers").fields().forEachRemaining(
+                    field -> headers.put(field.getKey(), field.getValue().asText()));
+            return new Exchange(node.path("method").asText(), node.path("path").asText(),
+                    textOrNull(node.get("query")), textOrNull(node.get("requestBody")),
+                    node.path("status").asInt(), headers, textOrNull(node.get("body")));
+        }
+
+        private static String textOrNull(final JsonNode node) {
+            return node == null || node.isNull() ? null : node.asText();
+        }
+    }
+}
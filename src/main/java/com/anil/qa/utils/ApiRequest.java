@@ -0,0 +1,193 @@
+package com.anil.qa.utils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.restassured.http.ContentType;
+import io.restassured.http.Method;
+import io.restassured.response.Response;
+
+/**
+ * ApiRequest is an immutable description of a REST call as made by
+ * {@link ApiUtils}: method, endpoint, headers, query parameters and body. It can
+ * be executed any number of times, from any thread.
+ */
+public final class ApiRequest {
+    /** HTTP method. */
+    private final Method method;
+    /** Endpoint URL or path. */
+    private final String endpoint;
+    /** Request headers. */
+    private final Map<String, String> headers;
+    /** Query parameters. */
+    private final Map<String, String> queryParams;
+    /** Request body, or null. */
+    private final Object body;
+    /** Content type of the body. */
+    private final ContentType contentType;
+
+    private ApiRequest(final Method httpMethod, final String url,
+            final Map<String, String> requestHeaders, final Map<String, String> query,
+            final Object requestBody, final ContentType bodyType) {
+        this.method = httpMethod;
+        this.endpoint = url;
+        this.headers = requestHeaders;
+        this.queryParams = query;
+        this.body = requestBody;
+        this.contentType = bodyType;
+    }
+
+    /**
+     * Creates a request with the given method and endpoint.
+     * @param method the HTTP method
+     * @param endpoint the API endpoint
+     * @return the ApiRequest
+     */
+    public static ApiRequest of(final Method method, final String endpoint) {
+        return new ApiRequest(method, endpoint, Collections.emptyMap(),
+                Collections.emptyMap(), null, ContentType.JSON);
+    }
+
+    /**
+     * Creates a GET request.
+     * @param endpoint the API endpoint
+     * @return the ApiRequest
+     */
+    public static ApiRequest get(final String endpoint) {
+        return of(Method.GET, endpoint);
+    }
+
+    /**
+     * Creates a POST request with a JSON body.
+     * @param endpoint the API endpoint
+     * @param body the request body
+     * @return the ApiRequest
+     */
+    public static ApiRequest post(final String endpoint, final Object body) {
+        return of(Method.POST, endpoint).withBody(body);
+    }
+
+    /**
+     * Creates a PUT request with a JSON body.
+     * @param endpoint the API endpoint
+     * @param body the request body
+     * @return the ApiRequest
+     */
+    public static ApiRequest put(final String endpoint, final Object body) {
+        return of(Method.PUT, endpoint).withBody(body);
+    }
+
+    /**
+     * Creates a DELETE request.
+     * @param endpoint the API endpoint
+     * @return the ApiRequest
+     */
+    public static ApiRequest delete(final String endpoint) {
+        return of(Method.DELETE, endpoint);
+    }
+
+    /**
+     * Returns a copy of this request with the given headers.
+     * @param requestHeaders the request headers, may be null
+     * @return the new ApiRequest
+     */
+    public ApiRequest withHeaders(final Map<String, String> requestHeaders) {
+        return new ApiRequest(method, endpoint, copyOf(requestHeaders), queryParams, body,
+                contentType);
+    }
+
+    /**
+     * Returns a copy of this request with the given query parameters.
+     * @param query the query parameters, may be null
+     * @return the new ApiRequest
+     */
+    public ApiRequest withQueryParams(final Map<String, String> query) {
+        return new ApiRequest(method, endpoint, headers, copyOf(query), body, contentType);
+    }
+
+    /**
+     * Returns a copy of this request with the given body.
+     * @param requestBody the request body, may be null
+     * @return the new ApiRequest
+     */
+    public ApiRequest withBody(final Object requestBody) {
+        return new ApiRequest(method, endpoint, headers, queryParams, requestBody, contentType);
+    }
+
+    /**
+     * Returns a copy of this request with the given body content type.
+     * @param bodyType the content type
+     * @return the new ApiRequest
+     */
+    public ApiRequest withContentType(final ContentType bodyType) {
+        return new ApiRequest(method, endpoint, headers, queryParams, body, bodyType);
+    }
+
+    /**
+     * Executes this request through {@link ApiUtils#send(ApiRequest)}.
+     * @return the Response
+     */
+    public Response execute() {
+        return ApiUtils.send(this);
+    }
+
+    /**
+     * Gets the HTTP method.
+     * @return the method
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Gets the endpoint.
+     * @return the endpoint URL or path
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Gets the request headers.
+     * @return the headers, never null
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Gets the query parameters.
+     * @return the query parameters, never null
+     */
+    public Map<String, String> getQueryParams() {
+        return queryParams;
+    }
+
+    /**
+     * Gets the request body.
+     * @return the body, or null
+     */
+    public Object getBody() {
+        return body;
+    }
+
+    /**
+     * Gets the content type of the body.
+     * @return the content type
+     */
+    public ContentType getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + endpoint;
+    }
+
+    private static Map<String, String> copyOf(final Map<String, String> map) {
+        return map == null
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new LinkedHashMap<>(map));
+    }
+}
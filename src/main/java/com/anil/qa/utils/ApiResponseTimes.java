@@ -0,0 +1,277 @@
+package com.anil.qa.utils;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * ApiResponseTimes times every API call and aggregates the latencies per
+ * method and endpoint template, where numeric, UUID and long hex path
+ * segments are replaced by {id} (GET /users/42 becomes GET /users/{id}).
+ * <p>
+ * Budgets are read from properties of the form
+ * {@code api.budget.<METHOD>.<template>=p95<300,p99<800}, in milliseconds;
+ * {@code api.budget.default} applies to endpoints without their own budget
+ * and {@code max} stands for the slowest call. api.budget.mode decides whether
+ * a budget exceeded over the suite only warns or fails it.
+ */
+public final class ApiResponseTimes implements Filter {
+    /** Logger instance. */
+    private static final Logger LOGGER = LogManager.getLogger(ApiResponseTimes.class);
+    /** Shared filter instance. */
+    private static final ApiResponseTimes FILTER = new ApiResponseTimes();
+    /** Property prefix of endpoint budgets. */
+    private static final String BUDGET_PREFIX = "api.budget.";
+    /** Path segments that identify a resource rather than name an endpoint. */
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}"
+            + "|[0-9a-fA-F]{24,}");
+    /** Percentiles shown in the summary. */
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+    /** Latencies keyed by "METHOD template". */
+    private static final Map<String, LatencyHistogram> TIMES = new ConcurrentHashMap<>();
+
+    private ApiResponseTimes() {
+        // Use ApiResponseTimes.filter
+    }
+
+    /**
+     * Gets the filter to add to request specifications.
+     * @return the shared filter
+     */
+    public static Filter filter() {
+        return FILTER;
+    }
+
+    @Override
+    public Response filter(final FilterableRequestSpecification requestSpec,
+            final FilterableResponseSpecification responseSpec, final FilterContext ctx) {
+        long start = System.nanoTime();
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } finally {
+            record(requestSpec.getMethod(), requestSpec.getURI(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records the latency of a call.
+     * @param method the HTTP method
+     * @param uri the request URI
+     * @param nanos the latency in nanoseconds
+     */
+    public static void record(final String method, final String uri, final long nanos) {
+        TIMES.computeIfAbsent(method.toUpperCase(Locale.ROOT) + " " + template(uri),
+                key -> new LatencyHistogram()).recordNanos(nanos);
+    }
+
+    /**
+     * Gets the endpoint template of a URI: its path with identifier segments
+     * replaced by {id}.
+     * @param uri the request URI or path
+     * @return the template
+     */
+    public static String template(final String uri) {
+        String path;
+        try {
+            path = new URI(uri).getRawPath();
+        } catch (final URISyntaxException e) {
+            int query = uri.indexOf('?');
+            path = query < 0 ? uri : uri.substring(0, query);
+        }
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        String[] segments = path.split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            if (ID_SEGMENT.matcher(segments[i]).matches()) {
+                segments[i] = "{id}";
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    /**
+     * Gets the latencies recorded for an endpoint.
+     * @param method the HTTP method
+     * @param template the endpoint template
+     * @return the histogram, or null if the endpoint was not called
+     */
+    public static LatencyHistogram get(final String method, final String template) {
+        return TIMES.get(method.toUpperCase(Locale.ROOT) + " " + template);
+    }
+
+    /**
+     * Checks every called endpoint against its budget.
+     * @return one message per exceeded budget, empty if all are met
+     */
+    public static List<String> checkBudgets() {
+        List<String> violations = new ArrayList<>();
+        new TreeMap<>(TIMES).forEach((endpoint, histogram) -> {
+            for (Map.Entry<Double, Double> limit : budgetOf(endpoint).entrySet()) {
+                double actual = histogram.getPercentileMillis(limit.getKey());
+                if (actual > limit.getValue()) {
+                    violations.add(String.format("%s: %s = %.1f ms exceeds budget %.0f ms",
+                            endpoint, label(limit.getKey()), actual, limit.getValue()));
+                }
+            }
+        });
+        return violations;
+    }
+
+    /**
+     * Asserts that every called endpoint met its budget.
+     * @throws AssertionError listing the exceeded budgets
+     */
+    public static void assertBudgets() {
+        List<String> violations = checkBudgets();
+        if (!violations.isEmpty()) {
+            throw new AssertionError("API response time budgets exceeded:"
+                    + System.lineSeparator() + String.join(System.lineSeparator(), violations));
+        }
+    }
+
+    /**
+     * Checks whether exceeded budgets fail the suite.
+     * @return true if api.budget.mode is fail
+     */
+    public static boolean isFailMode() {
+        return "fail".equalsIgnoreCase(ConfigManager.getProperty("api.budget.mode", "warn"));
+    }
+
+    /**
+     * Logs the per-endpoint table and adds it to the report as its own entry,
+     * together with any exceeded budgets.
+     * @return the exceeded budgets, empty if all are met
+     */
+    public static List<String> reportSuite() {
+        if (TIMES.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> violations = checkBudgets();
+        LOGGER.info(summary());
+        ReportManager.createTest("API response times");
+        ReportManager.logInfo(summaryHtml());
+        for (String violation : violations) {
+            LOGGER.warn(violation);
+            if (isFailMode()) {
+                ReportManager.logFailure(violation);
+            } else {
+                ReportManager.logWarning(violation);
+            }
+        }
+        if (violations.isEmpty()) {
+            ReportManager.logSuccess("All API response time budgets met");
+        }
+        return violations;
+    }
+
+    /**
+     * Formats the per-endpoint latencies as text, one endpoint per line.
+     * @return the summary
+     */
+    public static String summary() {
+        StringBuilder out = new StringBuilder("API response times:");
+        new TreeMap<>(TIMES).forEach((endpoint, histogram) -> out
+                .append(System.lineSeparator()).append(endpoint).append(": ")
+                .append(histogram.summary()));
+        return out.toString();
+    }
+
+    /**
+     * Clears all recorded latencies.
+     */
+    public static void reset() {
+        TIMES.clear();
+    }
+
+    private static String summaryHtml() {
+        StringBuilder html = new StringBuilder("<table class='table table-sm'><thead><tr>"
+                + "<th>Endpoint</th><th>Count</th><th>Mean</th>");
+        for (double percentile : PERCENTILES) {
+            html.append("<th>").append(label(percentile)).append("</th>");
+        }
+        html.append("<th>Max</th><th>Budget</th></tr></thead><tbody>");
+        new TreeMap<>(TIMES).forEach((endpoint, histogram) -> {
+            html.append("<tr><td>").append(escape(endpoint)).append("</td><td>")
+                    .append(histogram.getCount()).append("</td>")
+                    .append(String.format("<td>%.1f</td>", histogram.getMeanMillis()));
+            for (double percentile : PERCENTILES) {
+                html.append(String.format("<td>%.1f</td>",
+                        histogram.getPercentileMillis(percentile)));
+            }
+            html.append(String.format("<td>%.1f</td>", histogram.getMaxMillis()))
+                    .append("<td>").append(escape(formatBudget(budgetOf(endpoint))))
+                    .append("</td></tr>");
+        });
+        return html.append("</tbody></table>").toString();
+    }
+
+    /**
+     * Gets the budget of an endpoint.
+     * @param endpoint the "METHOD template" key
+     * @return the limit in milliseconds per percentile, empty if there is none
+     */
+    private static Map<Double, Double> budgetOf(final String endpoint) {
+        int space = endpoint.indexOf(' ');
+        String key = endpoint.substring(0, space) + "." + endpoint.substring(space + 1);
+        String budget = ConfigManager.getProperty(BUDGET_PREFIX + key, null);
+        if (budget == null) {
+            budget = ConfigManager.getProperty(BUDGET_PREFIX + "default", null);
+        }
+        return budget == null ? Collections.emptyMap() : parseBudget(budget);
+    }
+
+    private static Map<Double, Double> parseBudget(final String budget) {
+        Map<Double, Double> limits = new TreeMap<>();
+        for (String condition : budget.split(",")) {
+            String[] parts = condition.split("<");
+            if (parts.length != 2) {
+                throw new IllegalStateException("Invalid API budget '" + budget
+                        + "'; expected e.g. p95<300,p99<800");
+            }
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double percentile = "max".equals(name)
+                    ? 100
+                    : Double.parseDouble(name.substring(1));
+            limits.put(percentile, Double.parseDouble(parts[1].trim()));
+        }
+        return limits;
+    }
+
+    private static String formatBudget(final Map<Double, Double> limits) {
+        List<String> parts = new ArrayList<>();
+        limits.forEach((percentile, limit) -> parts.add(
+                String.format("%s<%.0f", label(percentile), limit)));
+        return String.join(", ", parts);
+    }
+
+    private static String label(final double percentile) {
+        if (percentile >= 100) {
+            return "max";
+        }
+        return percentile == Math.rint(percentile)
+                ? "p" + (long) percentile
+                : "p" + percentile;
+    }
+
+    private static String escape(final String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
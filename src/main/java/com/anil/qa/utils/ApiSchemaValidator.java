@@ -0,0 +1,197 @@
+package com.anil.qa.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaException;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import com.networknt.schema.SpecVersionDetector;
+import com.networknt.schema.ValidationMessage;
+
+import io.restassured.response.Response;
+
+/**
+ * ApiSchemaValidator checks API responses against JSON Schema files. Each
+ * schema is read and compiled once per JVM and cached by path; validation runs
+ * on the response tree already parsed by {@link ApiUtils#getJsonPath}, so the
+ * body is neither parsed again nor re-serialized.
+ * <p>
+ * Schema paths are looked up on the classpath first, then on the file system.
+ * The draft is taken from the schema's $schema keyword, defaulting to draft 7.
+ * Errors are reported as JSON pointers to the failing value.
+ */
+public final class ApiSchemaValidator {
+    /** Logger instance. */
+    private static final Logger LOGGER = LogManager.getLogger(ApiSchemaValidator.class);
+    /** Mapper used to read schema files. */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    /** Compiled schemas, keyed by path. */
+    private static final Map<String, JsonSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+    private ApiSchemaValidator() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Validates a response body against a schema.
+     * @param response the Response
+     * @param schemaPath the classpath resource or file path of the schema
+     * @return one "pointer: message" entry per violation, empty if valid
+     */
+    public static List<String> validate(final Response response, final String schemaPath) {
+        JsonNode tree = ResponseJson.of(response).tree();
+        if (tree == null) {
+            List<String> errors = new ArrayList<>();
+            errors.add(": response body is not JSON");
+            return errors;
+        }
+        return validate(tree, schemaPath);
+    }
+
+    /**
+     * Validates a JSON tree against a schema.
+     * @param json the JSON to validate
+     * @param schemaPath the classpath resource or file path of the schema
+     * @return one "pointer: message" entry per violation, empty if valid
+     */
+    public static List<String> validate(final JsonNode json, final String schemaPath) {
+        List<String> errors = new ArrayList<>();
+        for (ValidationMessage message : schema(schemaPath).validate(json)) {
+            String path = message.getPath();
+            String text = message.getMessage();
+            if (path != null && text.startsWith(path + ":")) {
+                text = text.substring(path.length() + 1).trim();
+            }
+            errors.add(toPointer(path) + ": " + text);
+        }
+        errors.sort(null);
+        return errors;
+    }
+
+    /**
+     * Asserts that a response body matches a schema. Violations are written to
+     * the report, if a test is active, before the assertion fails.
+     * @param response the Response
+     * @param schemaPath the classpath resource or file path of the schema
+     * @throws AssertionError listing the violations
+     */
+    public static void assertMatches(final Response response, final String schemaPath) {
+        List<String> errors = validate(response, schemaPath);
+        if (errors.isEmpty()) {
+            return;
+        }
+        String message = "Response does not match schema " + schemaPath + ":"
+                + System.lineSeparator() + String.join(System.lineSeparator(), errors);
+        LOGGER.error(message);
+        if (ReportManager.isTestActive()) {
+            ReportManager.logPreformatted(message);
+        }
+        throw new AssertionError(message);
+    }
+
+    /**
+     * Gets a compiled schema, loading it on first use.
+     * @param schemaPath the classpath resource or file path of the schema
+     * @return the compiled schema
+     */
+    static JsonSchema schema(final String schemaPath) {
+        return SCHEMAS.computeIfAbsent(schemaPath, ApiSchemaValidator::compile);
+    }
+
+    private static JsonSchema compile(final String schemaPath) {
+        JsonNode node = read(schemaPath);
+        SpecVersion.VersionFlag version;
+        try {
+            version = SpecVersionDetector.detect(node);
+        } catch (final JsonSchemaException e) {
+            version = SpecVersion.VersionFlag.V7;
+        }
+        JsonSchema schema = JsonSchemaFactory.getInstance(version).getSchema(node);
+        // Build every validator now rather than on the first validation
+        schema.initializeValidators();
+        LOGGER.info("Compiled JSON schema {} ({})", schemaPath, version);
+        return schema;
+    }
+
+    private static JsonNode read(final String schemaPath) {
+        String resource = schemaPath.startsWith("/") ? schemaPath.substring(1) : schemaPath;
+        try (InputStream in = Thread.currentThread().getContextClassLoader()
+                .getResourceAsStream(resource)) {
+            if (in != null) {
+                return MAPPER.readTree(in);
+            }
+            Path file = Paths.get(schemaPath);
+            if (!Files.exists(file)) {
+                throw new IllegalArgumentException("JSON schema not found on classpath or disk: "
+                        + schemaPath);
+            }
+            return MAPPER.readTree(file.toFile());
+        } catch (final IOException e) {
+            throw new IllegalStateException("Cannot read JSON schema " + schemaPath, e);
+        }
+    }
+
+    /**
+     * Converts a validator path such as $.items[0]['a b'] to a JSON pointer
+     * such as /items/0/a b.
+     * @param path the validator path
+     * @return the JSON pointer, empty for the document root
+     */
+    static String toPointer(final String path) {
+        if (path == null || path.isEmpty() || "$".equals(path)) {
+            return "";
+        }
+        if (path.startsWith("/")) {
+            return path;
+        }
+        StringBuilder pointer = new StringBuilder();
+        int i = path.startsWith("$") ? 1 : 0;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            String token;
+            if (c == '.') {
+                int end = i + 1;
+                while (end < path.length() && path.charAt(end) != '.'
+                        && path.charAt(end) != '[') {
+                    end++;
+                }
+                token = path.substring(i + 1, end);
+                i = end;
+            } else if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    end = path.length();
+                }
+                token = path.substring(i + 1, end);
+                if (token.length() >= 2 && (token.charAt(0) == '\'' || token.charAt(0) == '"')) {
+                    token = token.substring(1, token.length() - 1);
+                }
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < path.length() && path.charAt(end) != '.'
+                        && path.charAt(end) != '[') {
+                    end++;
+                }
+                token = path.substring(i, end);
+                i = end;
+            }
+            pointer.append('/').append(token.replace("~", "~0").replace("/", "~1"));
+        }
+        return pointer.toString();
+    }
+}
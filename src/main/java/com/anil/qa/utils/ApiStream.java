@@ -0,0 +1,422 @@
+package com.anil.qa.utils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * ApiStream sends an {@link ApiRequest} and validates the JSON response while
+ * it is being received, for responses too large to buffer. The body is read
+ * with a Jackson streaming parser; only the array of records at
+ * {@link #recordsAt(String)} is materialized, one record at a time, so heap
+ * use does not depend on the payload size.
+ * <p>
+ * Each record is checked against the registered expectations and may be kept
+ * in a fixed-size uniform sample. The raw body can be spooled to disk as it is
+ * read. Requests use the configured base URI, default headers, auth and
+ * timeouts, but bypass RestAssured, which always buffers the whole body.
+ */
+public final class ApiStream {
+    /** Logger instance. */
+    private static final Logger LOGGER = LogManager.getLogger(ApiStream.class);
+    /** Mapper used to parse records and serialize request bodies. */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    /** Shared HTTP client, created on first use. */
+    private static HttpClient client;
+
+    /** The request to send. */
+    private final ApiRequest request;
+    /** Dotted path of the records array, empty for a top-level array. */
+    private final String recordsPath;
+    /** Checks applied to every record, in registration order. */
+    private final List<Expectation> expectations;
+    /** Number of records to sample. */
+    private final int sampleSize;
+    /** File the raw body is spooled to, or null. */
+    private final Path spoolFile;
+
+    private ApiStream(final ApiRequest apiRequest, final String path,
+            final List<Expectation> checks, final int samples, final Path spool) {
+        this.request = apiRequest;
+        this.recordsPath = path;
+        this.expectations = checks;
+        this.sampleSize = samples;
+        this.spoolFile = spool;
+    }
+
+    /**
+     * Creates a streaming validation of a request. By default the response is
+     * expected to be a top-level array of records.
+     * @param request the request to send
+     * @return the ApiStream
+     */
+    public static ApiStream of(final ApiRequest request) {
+        return new ApiStream(request, "", Collections.emptyList(), 0, null);
+    }
+
+    /**
+     * Creates a streaming validation of a GET request.
+     * @param endpoint the API endpoint
+     * @return the ApiStream
+     */
+    public static ApiStream get(final String endpoint) {
+        return of(ApiRequest.get(endpoint));
+    }
+
+    /**
+     * Returns a copy that reads records from the array at a dotted path, such
+     * as "data.items".
+     * @param path the path of the records array, empty for a top-level array
+     * @return the new ApiStream
+     */
+    public ApiStream recordsAt(final String path) {
+        return new ApiStream(request, path == null ? "" : path, expectations, sampleSize,
+                spoolFile);
+    }
+
+    /**
+     * Returns a copy that checks every record against a predicate.
+     * @param description describes the expectation in failure messages
+     * @param predicate returns true for valid records
+     * @return the new ApiStream
+     */
+    public ApiStream expect(final String description, final Predicate<JsonNode> predicate) {
+        List<Expectation> checks = new ArrayList<>(expectations);
+        checks.add(new Expectation(description, predicate));
+        return new ApiStream(request, recordsPath, Collections.unmodifiableList(checks),
+                sampleSize, spoolFile);
+    }
+
+    /**
+     * Returns a copy that keeps a uniform random sample of the records.
+     * @param size the number of records to keep
+     * @return the new ApiStream
+     */
+    public ApiStream sample(final int size) {
+        return new ApiStream(request, recordsPath, expectations, size, spoolFile);
+    }
+
+    /**
+     * Returns a copy that writes the raw body to a file as it is read.
+     * @param file the file to write, replaced if it exists
+     * @return the new ApiStream
+     */
+    public ApiStream spoolTo(final Path file) {
+        return new ApiStream(request, recordsPath, expectations, sampleSize, file);
+    }
+
+    /**
+     * Sends the request and streams the response through the expectations.
+     * @return the result
+     */
+    public ApiStreamResult execute() {
+        LOGGER.info("Streaming {} request to: {}", request.getMethod(), request.getEndpoint());
+        long start = System.nanoTime();
+        HttpResponse<InputStream> response;
+        try {
+            response = client().send(buildRequest(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (final IOException e) {
+            throw new RuntimeException("Streaming request failed: " + request, e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted sending " + request, e);
+        }
+
+        Collector collector = new Collector();
+        String errorBody = null;
+        try (TeeInputStream body = new TeeInputStream(response.body(), spoolFile)) {
+            if (response.statusCode() >= 400) {
+                int max = Integer.parseInt(
+                        ConfigManager.getProperty("api.log.body.max.chars", "4000"));
+                // -1 means no limit
+                errorBody = new String(body.readNBytes(max < 0 ? Integer.MAX_VALUE : max),
+                        StandardCharsets.UTF_8);
+            } else {
+                parse(body, collector);
+            }
+            body.drain();
+            ApiStreamResult result = new ApiStreamResult(request.toString(),
+                    response.statusCode(), errorBody, collector.records, body.count,
+                    System.nanoTime() - start, collector.failures, collector.examples,
+                    collector.samples, spoolFile);
+            LOGGER.info(result.summary());
+            return result;
+        } catch (final IOException e) {
+            throw new RuntimeException("Failed reading streamed response of " + request, e);
+        } finally {
+            ApiResponseTimes.record(request.getMethod().name(), response.uri().toString(),
+                    System.nanoTime() - start);
+        }
+    }
+
+    private void parse(final InputStream body, final Collector collector) throws IOException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(body)) {
+            // The caller drains and closes the body once parsing stops
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            JsonToken token = parser.nextToken();
+            for (String field : recordsPath.isEmpty() ? new String[0] : recordsPath.split("\\.")) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalStateException("Expected an object containing '" + field
+                            + "' on the way to '" + recordsPath + "' but found " + token);
+                }
+                boolean found = false;
+                while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    token = parser.nextToken();
+                    if (name.equals(field)) {
+                        found = true;
+                        break;
+                    }
+                    parser.skipChildren();
+                }
+                if (!found) {
+                    throw new IllegalStateException("Response has no field '" + field
+                            + "' on the way to '" + recordsPath + "'");
+                }
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("Expected an array of records at '"
+                        + recordsPath + "' but found " + token);
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                collector.accept(MAPPER.readTree(parser));
+            }
+        }
+    }
+
+    private HttpRequest buildRequest() {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(buildUri())
+                .timeout(Duration.ofMillis(
+                        Long.parseLong(ConfigManager.getProperty("api.timeout.socket.ms", "30000"))));
+        Map<String, String> headers = new LinkedHashMap<>(ApiUtils.getDefaultHeaders());
+        String username = ConfigManager.getProperty("api.auth.username", null);
+        if (username != null) {
+            String credentials = username + ":" + ConfigManager.getProperty("api.auth.password", "");
+            headers.put("Authorization", "Basic " + Base64.getEncoder()
+                    .encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+        }
+        headers.putAll(request.getHeaders());
+        headers.forEach(builder::header);
+
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.noBody();
+        if (request.getBody() != null) {
+            builder.setHeader("Content-Type", request.getContentType().toString());
+            body = HttpRequest.BodyPublishers.ofByteArray(serialize(request.getBody()));
+        }
+        return builder.method(request.getMethod().name(), body).build();
+    }
+
+    private URI buildUri() {
+        String endpoint = ApiUtils.resolveEndpoint(request.getEndpoint());
+        if (request.getQueryParams().isEmpty()) {
+            return URI.create(endpoint);
+        }
+        StringJoiner query = new StringJoiner("&", endpoint.contains("?") ? "&" : "?", "");
+        request.getQueryParams().forEach((name, value) -> query.add(
+                URLEncoder.encode(name, StandardCharsets.UTF_8) + "="
+                + URLEncoder.encode(value, StandardCharsets.UTF_8)));
+        return URI.create(endpoint + query);
+    }
+
+    private static byte[] serialize(final Object body) {
+        if (body instanceof byte[]) {
+            return (byte[]) body;
+        }
+        if (body instanceof String) {
+            return ((String) body).getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            return MAPPER.writeValueAsBytes(body);
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+    }
+
+    private static synchronized HttpClient client() {
+        if (client == null) {
+            client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofMillis(Long.parseLong(
+                            ConfigManager.getProperty("api.timeout.connect.ms", "5000"))))
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .build();
+        }
+        return client;
+    }
+
+    /**
+     * A named record check.
+     */
+    private static final class Expectation {
+        /** Describes the check in failure messages. */
+        private final String description;
+        /** Returns true for valid records. */
+        private final Predicate<JsonNode> predicate;
+
+        Expectation(final String name, final Predicate<JsonNode> check) {
+            this.description = name;
+            this.predicate = check;
+        }
+    }
+
+    /**
+     * Accumulates counts, failures and samples while records stream by.
+     */
+    private final class Collector {
+        /** Failing records per expectation, in registration order. */
+        private final Map<String, Long> failures = new LinkedHashMap<>();
+        /** Descriptions of the first failing records. */
+        private final List<String> examples = new ArrayList<>();
+        /** Uniform sample of the records. */
+        private final List<JsonNode> samples = new ArrayList<>();
+        /** Maximum number of failure examples kept. */
+        private final int maxExamples = Integer.parseInt(
+                ConfigManager.getProperty("api.stream.max.examples", "5"));
+        /** Number of records seen. */
+        private long records;
+
+        Collector() {
+            expectations.forEach(expectation -> failures.put(expectation.description, 0L));
+        }
+
+        void accept(final JsonNode record) {
+            for (Expectation expectation : expectations) {
+                boolean valid;
+                try {
+                    valid = expectation.predicate.test(record);
+                } catch (final RuntimeException e) {
+                    valid = false;
+                }
+                if (!valid) {
+                    failures.merge(expectation.description, 1L, Long::sum);
+                    if (examples.size() < maxExamples) {
+                        String json = record.toString();
+                        examples.add("record #" + records + " failed '"
+                                + expectation.description + "': "
+                                + (json.length() > 500 ? json.substring(0, 500) + "..." : json));
+                    }
+                }
+            }
+            // Reservoir sampling keeps every record with equal probability
+            if (samples.size() < sampleSize) {
+                samples.add(record);
+            } else if (sampleSize > 0) {
+                long slot = ThreadLocalRandom.current().nextLong(records + 1);
+                if (slot < sampleSize) {
+                    samples.set((int) slot, record);
+                }
+            }
+            records++;
+        }
+    }
+
+    /**
+     * Counts the bytes read and optionally copies them to a file.
+     */
+    private static final class TeeInputStream extends FilterInputStream {
+        /** Spool file channel, or null. */
+        private final FileChannel spool;
+        /** Number of bytes read. */
+        private long count;
+
+        TeeInputStream(final InputStream in, final Path file) throws IOException {
+            super(in);
+            if (file == null) {
+                this.spool = null;
+            } else {
+                if (file.toAbsolutePath().getParent() != null) {
+                    Files.createDirectories(file.toAbsolutePath().getParent());
+                }
+                this.spool = FileChannel.open(file, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length)
+                throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                write(buffer, offset, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            int read = read(buffer, 0, buffer.length);
+            return Math.max(read, 0);
+        }
+
+        /**
+         * Reads the rest of the body so the spool file is complete.
+         * @throws IOException if reading fails
+         */
+        void drain() throws IOException {
+            byte[] buffer = new byte[8192];
+            while (read(buffer, 0, buffer.length) >= 0) {
+                // Copied by read
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (spool != null) {
+                    spool.close();
+                }
+            }
+        }
+
+        private void write(final byte[] buffer, final int offset, final int length)
+                throws IOException {
+            count += length;
+            if (spool != null) {
+                ByteBuffer bytes = ByteBuffer.wrap(buffer, offset, length);
+                while (bytes.hasRemaining()) {
+                    spool.write(bytes);
+                }
+            }
+        }
+    }
+}
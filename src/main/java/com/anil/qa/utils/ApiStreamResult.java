@@ -0,0 +1,149 @@
+package com.anil.qa.utils;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * ApiStreamResult is the outcome of an {@link ApiStream}: status, number of
+ * records and bytes streamed, failing records per expectation and the sampled
+ * records.
+ */
+public final class ApiStreamResult {
+    /** Description of the request. */
+    private final String request;
+    /** HTTP status code. */
+    private final int statusCode;
+    /** Start of the body of an error response, or null. */
+    private final String errorBody;
+    /** Number of records streamed. */
+    private final long recordCount;
+    /** Number of body bytes read. */
+    private final long byteCount;
+    /** Time from sending the request to the end of the body, in nanoseconds. */
+    private final long elapsedNanos;
+    /** Failing records per expectation. */
+    private final Map<String, Long> failures;
+    /** Descriptions of the first failing records. */
+    private final List<String> failureExamples;
+    /** Sampled records. */
+    private final List<JsonNode> samples;
+    /** File the body was spooled to, or null. */
+    private final Path spoolFile;
+
+    ApiStreamResult(final String description, final int status, final String error,
+            final long records, final long bytes, final long elapsed,
+            final Map<String, Long> failed, final List<String> examples,
+            final List<JsonNode> sampled, final Path spool) {
+        this.request = description;
+        this.statusCode = status;
+        this.errorBody = error;
+        this.recordCount = records;
+        this.byteCount = bytes;
+        this.elapsedNanos = elapsed;
+        this.failures = Collections.unmodifiableMap(failed);
+        this.failureExamples = Collections.unmodifiableList(examples);
+        this.samples = Collections.unmodifiableList(sampled);
+        this.spoolFile = spool;
+    }
+
+    /**
+     * Gets the HTTP status code.
+     * @return the status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Gets the number of records streamed.
+     * @return the record count
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Gets the number of body bytes read.
+     * @return the byte count
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    /**
+     * Gets the number of failing records per expectation.
+     * @return the counts, in the order the expectations were added
+     */
+    public Map<String, Long> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Gets the total number of expectation failures.
+     * @return the failure count
+     */
+    public long getFailureCount() {
+        return failures.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Gets descriptions of the first failing records.
+     * @return up to api.stream.max.examples descriptions
+     */
+    public List<String> getFailureExamples() {
+        return failureExamples;
+    }
+
+    /**
+     * Gets the sampled records.
+     * @return a uniform random sample of the records
+     */
+    public List<JsonNode> getSamples() {
+        return samples;
+    }
+
+    /**
+     * Gets the file the body was spooled to.
+     * @return the spool file, or null if the body was not spooled
+     */
+    public Path getSpoolFile() {
+        return spoolFile;
+    }
+
+    /**
+     * Asserts that the response succeeded and every record met every
+     * expectation.
+     * @throws AssertionError describing the status or failing records
+     */
+    public void assertValid() {
+        if (statusCode >= 400) {
+            throw new AssertionError(request + " returned status " + statusCode
+                    + (errorBody == null ? "" : ": " + errorBody));
+        }
+        if (getFailureCount() > 0) {
+            String nl = System.lineSeparator();
+            throw new AssertionError(request + " streamed " + recordCount
+                    + " records with failed expectations " + failures + nl
+                    + String.join(nl, failureExamples));
+        }
+    }
+
+    /**
+     * Formats the result on one line.
+     * @return the summary
+     */
+    public String summary() {
+        return String.format("Streamed %s: status=%d, records=%d, bytes=%d, failures=%d, "
+                + "elapsed=%.1fs", request, statusCode, recordCount, byteCount,
+                getFailureCount(), elapsedNanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+}
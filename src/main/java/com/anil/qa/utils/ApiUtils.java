@@ -1,22 +1,36 @@
 package com.anil.qa.utils;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
 /**
  * ApiUtils provides static methods for REST API calls using RestAssured.
- * Supports GET, POST, PUT, DELETE, and JSON path extraction.
+ * Supports GET, POST, PUT, DELETE, and JSON path extraction. Requests start
+ * from a per-thread base specification (base URI, default headers, auth) and
+ * share the pooled keep-alive client of {@link ApiConnectionPool}; see
+ * {@link AsyncApiUtils} for non-blocking variants.
  */
 public final class ApiUtils {
     /** Logger instance. */
     private static final Logger LOGGER = LogManager.getLogger(ApiUtils.class);
+    /** Matches the scheme of an absolute URL. */
+    private static final Pattern ABSOLUTE_URL = Pattern.compile("[a-zA-Z][a-zA-Z0-9+.-]*://");
+    /** Base specification built once per thread from config. */
+    private static final ThreadLocal<RequestSpecification> BASE_SPECIFICATION =
+            ThreadLocal.withInitial(() -> buildBaseSpecification(true));
+    /** Per-thread base specification for load traffic, without the filters. */
+    private static final ThreadLocal<RequestSpecification> LOAD_SPECIFICATION =
+            ThreadLocal.withInitial(() -> buildBaseSpecification(false));
 
     private ApiUtils() {
         // Private constructor to prevent instantiation
@@ -50,22 +64,9 @@ public final class ApiUtils {
      */
     public static Response get(String endpoint, Map<String, String> headers, 
             Map<String, String> queryParams) {
-        LOGGER.info("Making GET request to: {}", endpoint);
-        RequestSpecification request = RestAssured.given().log().all();
-
-        if (headers != null) {
-            request.headers(headers);
-        }
-
-        if (queryParams != null) {
-            request.queryParams(queryParams);
-        }
-
-        Response response = request.get(endpoint);
-        LOGGER.info("Response received with status code: {}", 
-                response.getStatusCode());
-
-        return response;
+        return send(ApiRequest.get(endpoint)
+                .withHeaders(headers)
+                .withQueryParams(queryParams));
     }
 
     /**
@@ -99,22 +100,9 @@ public final class ApiUtils {
      */
     public static Response post(String endpoint, Object body, 
             Map<String, String> headers, ContentType contentType) {
-        LOGGER.info("Making POST request to: {}", endpoint);
-        RequestSpecification request = RestAssured.given().log().all();
-
-        if (headers != null) {
-            request.headers(headers);
-        }
-
-        if (body != null) {
-            request.contentType(contentType).body(body);
-        }
-
-        Response response = request.post(endpoint);
-        LOGGER.info("Response received with status code: {}", 
-                response.getStatusCode());
-
-        return response;
+        return send(ApiRequest.post(endpoint, body)
+                .withHeaders(headers)
+                .withContentType(contentType));
     }
 
     /**
@@ -135,22 +123,7 @@ public final class ApiUtils {
      * @return the Response
      */
     public static Response put(final String endpoint, final Object body, final Map<String, String> headers) {
-        LOGGER.info("Making PUT request to: {}", endpoint);
-        RequestSpecification request = RestAssured.given().log().all();
-
-        if (headers != null) {
-            request.headers(headers);
-        }
-
-        if (body != null) {
-            request.contentType(ContentType.JSON).body(body);
-        }
-
-        Response response = request.put(endpoint);
-        LOGGER.info("Response received with status code: {}", 
-                response.getStatusCode());
-
-        return response;
+        return send(ApiRequest.put(endpoint, body).withHeaders(headers));
     }
 
     /**
@@ -169,27 +142,169 @@ public final class ApiUtils {
      * @return the Response
      */
     public static Response delete(final String endpoint, final Map<String, String> headers) {
-        LOGGER.info("Making DELETE request to: {}", endpoint);
-        RequestSpecification request = RestAssured.given().log().all();
+        return send(ApiRequest.delete(endpoint).withHeaders(headers));
+    }
+
+    /**
+     * Sends a request described by an ApiRequest. All other request methods
+     * delegate here.
+     * @param apiRequest the request to send
+     * @return the Response
+     */
+    public static Response send(final ApiRequest apiRequest) {
+        LOGGER.info("Making {} request to: {}", apiRequest.getMethod(),
+                apiRequest.getEndpoint());
+        Response response = execute(apiRequest);
+        LOGGER.info("Response received with status code: {} in {} ms",
+                response.getStatusCode(), response.getTime());
+
+        return response;
+    }
+
+    /**
+     * Sends a request without logging.
+     * @param apiRequest the request to send
+     * @return the Response
+     */
+    static Response execute(final ApiRequest apiRequest) {
+        return execute(apiRequest, false);
+    }
+
+    /**
+     * Sends load traffic for {@link ApiLoadGenerator}: without logging and
+     * outside the {@link ApiResponseTimes} budgets, the {@link ApiLogBuffer}
+     * and {@link ApiReplay} recording and replay, none of which describe
+     * functional checks.
+     * @param apiRequest the request to send
+     * @return the Response
+     */
+    static Response executeLoad(final ApiRequest apiRequest) {
+        return execute(apiRequest, true);
+    }
+
+    private static Response execute(final ApiRequest apiRequest, final boolean load) {
+        RequestSpecification request = RestAssured.given()
+                .spec(load ? LOAD_SPECIFICATION.get() : BASE_SPECIFICATION.get());
 
-        if (headers != null) {
-            request.headers(headers);
+        if (!apiRequest.getHeaders().isEmpty()) {
+            request.headers(apiRequest.getHeaders());
         }
 
-        Response response = request.delete(endpoint);
-        LOGGER.info("Response received with status code: {}", 
-                response.getStatusCode());
+        if (!apiRequest.getQueryParams().isEmpty()) {
+            request.queryParams(apiRequest.getQueryParams());
+        }
 
-        return response;
+        if (apiRequest.getBody() != null) {
+            request.contentType(apiRequest.getContentType()).body(apiRequest.getBody());
+        }
+
+        if (load) {
+            return request.request(apiRequest.getMethod(), apiRequest.getEndpoint());
+        }
+
+        String replayClass = ApiReplay.replayClass();
+        if (replayClass != null) {
+            request.header(ApiReplay.CLASS_HEADER, replayClass);
+        }
+
+        return request.request(apiRequest.getMethod(),
+                ApiReplay.redirect(apiRequest.getEndpoint()));
+    }
+
+    /**
+     * Builds the base specification every request starts from: the pooled
+     * client config, the {@link ApiResponseTimes}, {@link ApiLogBuffer} and
+     * {@link ApiReplay} filters, api.base.uri, api.header.*
+     * default headers and either api.auth.token (bearer) or
+     * api.auth.username/password (preemptive basic).
+     * @param withFilters false to leave out the filters, for load traffic
+     * @return the base RequestSpecification
+     */
+    static RequestSpecification buildBaseSpecification(final boolean withFilters) {
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setConfig(ApiConnectionPool.config());
+        if (withFilters) {
+            builder.addFilter(ApiResponseTimes.filter())
+                    .addFilter(ApiLogBuffer.filter())
+                    .addFilter(ApiReplay.filter());
+        }
+        String baseUri = ConfigManager.getProperty("api.base.uri", null);
+        if (baseUri != null) {
+            builder.setBaseUri(baseUri);
+        }
+        getDefaultHeaders().forEach(builder::addHeader);
+        String username = ConfigManager.getProperty("api.auth.username", null);
+        if (username != null) {
+            builder.setAuth(RestAssured.preemptive().basic(username,
+                    ConfigManager.getProperty("api.auth.password", "")));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Resolves an endpoint against api.base.uri, as RestAssured does for
+     * relative paths.
+     * @param endpoint the endpoint URL or path
+     * @return the absolute URL, or the endpoint itself if it is absolute or no
+     *         base URI is configured
+     */
+    static String resolveEndpoint(final String endpoint) {
+        String baseUri = ConfigManager.getProperty("api.base.uri", null);
+        if (baseUri == null || ABSOLUTE_URL.matcher(endpoint).lookingAt()) {
+            return endpoint;
+        }
+        return baseUri.replaceAll("/+$", "") + "/" + endpoint.replaceAll("^/+", "");
+    }
+
+    /**
+     * Gets the headers sent with every request: the api.header.* properties
+     * plus a bearer Authorization header if api.auth.token is set.
+     * @return the default headers
+     */
+    public static Map<String, String> getDefaultHeaders() {
+        Map<String, String> headers = ConfigManager.getPropertiesWithPrefix("api.header.");
+        String token = ConfigManager.getProperty("api.auth.token", null);
+        if (token != null) {
+            headers.put("Authorization", "Bearer " + token);
+        }
+        return headers;
     }
 
     /**
-     * Extracts a value from a JSON response using a JSON path.
+     * Extracts a value from a JSON response using a JSON path. The body is
+     * parsed once per response and the path compiled once per expression.
      * @param response the Response
      * @param path the JSON path
      * @return the value as String
      */
     public static String getJsonPath(final Response response, final String path) {
-        return response.jsonPath().getString(path);
+        return ResponseJson.of(response).getString(response, path);
+    }
+
+    /**
+     * Asserts that a JSON response matches a JSON Schema, compiled once and
+     * cached by path. See {@link ApiSchemaValidator}.
+     * @param response the Response
+     * @param schemaPath the classpath resource or file path of the schema
+     */
+    public static void assertMatchesSchema(final Response response, final String schemaPath) {
+        ApiSchemaValidator.assertMatches(response, schemaPath);
+    }
+
+    /**
+     * Extracts several values from a JSON response in one pass over the
+     * parsed body.
+     * @param response the Response
+     * @param paths the JSON paths
+     * @return the values as Strings, keyed by path in the given order
+     */
+    public static Map<String, String> getJsonPaths(final Response response,
+            final String... paths) {
+        ResponseJson json = ResponseJson.of(response);
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String path : paths) {
+            values.put(path, json.getString(response, path));
+        }
+        return values;
     }
 }
@@ -0,0 +1,174 @@
+package com.anil.qa.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.restassured.response.Response;
+
+/**
+ * AsyncApiUtils provides non-blocking variants of the {@link ApiUtils} methods.
+ * Requests run on a bounded executor over the shared connection pool and
+ * complete a CompletableFuture, so many calls can be in flight at once.
+ * The synchronous ApiUtils methods are unaffected.
+ */
+public final class AsyncApiUtils {
+    /** Executor running the requests, created on first use. */
+    private static ExecutorService executor;
+
+    private AsyncApiUtils() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Makes an asynchronous GET request.
+     * @param endpoint the API endpoint
+     * @return the future Response
+     */
+    public static CompletableFuture<Response> get(final String endpoint) {
+        return send(ApiRequest.get(endpoint));
+    }
+
+    /**
+     * Makes an asynchronous GET request with headers.
+     * @param endpoint the API endpoint
+     * @param headers the request headers
+     * @return the future Response
+     */
+    public static CompletableFuture<Response> get(final String endpoint,
+            final Map<String, String> headers) {
+        return send(ApiRequest.get(endpoint).withHeaders(headers));
+    }
+
+    /**
+     * Makes an asynchronous POST request with a JSON body.
+     * @param endpoint the API endpoint
+     * @param body the request body
+     * @return the future Response
+     */
+    public static CompletableFuture<Response> post(final String endpoint, final Object body) {
+        return send(ApiRequest.post(endpoint, body));
+    }
+
+    /**
+     * Makes an asynchronous PUT request with a JSON body.
+     * @param endpoint the API endpoint
+     * @param body the request body
+     * @return the future Response
+     */
+    public static CompletableFuture<Response> put(final String endpoint, final Object body) {
+        return send(ApiRequest.put(endpoint, body));
+    }
+
+    /**
+     * Makes an asynchronous DELETE request.
+     * @param endpoint the API endpoint
+     * @return the future Response
+     */
+    public static CompletableFuture<Response> delete(final String endpoint) {
+        return send(ApiRequest.delete(endpoint));
+    }
+
+    /**
+     * Sends a request asynchronously. The exchange is captured in the calling
+     * test's {@link ApiLogBuffer} and recorded or replayed like the test's own
+     * calls.
+     * @param request the request to send
+     * @return the future Response
+     */
+    public static CompletableFuture<Response> send(final ApiRequest request) {
+        return CompletableFuture.supplyAsync(
+                ApiReplay.bind(ApiLogBuffer.bind(() -> ApiUtils.send(request))), executor());
+    }
+
+    /**
+     * Sends a batch of requests concurrently.
+     * @param requests the requests to send
+     * @return a future completing with the responses in request order
+     */
+    public static CompletableFuture<List<Response>> sendAll(
+            final Collection<ApiRequest> requests) {
+        List<CompletableFuture<Response>> futures = new ArrayList<>();
+        for (ApiRequest request : requests) {
+            futures.add(send(request));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> {
+                    List<Response> responses = new ArrayList<>();
+                    futures.forEach(future -> responses.add(future.join()));
+                    return responses;
+                });
+    }
+
+    /**
+     * Waits for all futures to complete.
+     * @param futures the futures to wait for
+     * @param timeout the maximum time to wait for all of them
+     * @return the responses in the order of the futures
+     */
+    public static List<Response> awaitAll(final List<CompletableFuture<Response>> futures,
+            final Duration timeout) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for API responses", e);
+        } catch (final ExecutionException e) {
+            throw new RuntimeException("API request failed", e.getCause());
+        } catch (final TimeoutException e) {
+            throw new RuntimeException("Timed out after " + timeout
+                    + " waiting for API responses", e);
+        }
+        List<Response> responses = new ArrayList<>();
+        futures.forEach(future -> responses.add(future.join()));
+        return responses;
+    }
+
+    /**
+     * Gets the number of threads running asynchronous requests.
+     * @return the api.async.threads setting
+     */
+    public static int getThreadCount() {
+        return Integer.parseInt(ConfigManager.getProperty("api.async.threads", "32"));
+    }
+
+    /**
+     * Stops the executor. Requests already queued still complete.
+     */
+    public static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    private static synchronized ExecutorService executor() {
+        if (executor == null) {
+            int threads = getThreadCount();
+            AtomicInteger counter = new AtomicInteger();
+            // A full queue runs the request on the caller, throttling producers
+            executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(Integer.parseInt(
+                            ConfigManager.getProperty("api.async.queue.size", "1000"))),
+                    runnable -> {
+                        Thread thread = new Thread(runnable,
+                                "api-async-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        return executor;
+    }
+}
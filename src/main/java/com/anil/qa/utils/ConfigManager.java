@@ -2,7 +2,9 @@ package com.anil.qa.utils;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -35,6 +37,14 @@ public final class ConfigManager {
         }
     }
 
+    /**
+     * Checks whether a configuration has been loaded.
+     * @return true if any properties are set
+     */
+    public static boolean isLoaded() {
+        return !PROPERTIES.isEmpty();
+    }
+
     /**
      * Gets a property value by key.
      * @param key the property key
@@ -58,6 +68,21 @@ public final class ConfigManager {
         return PROPERTIES.getProperty(key, defaultValue);
     }
 
+    /**
+     * Gets all properties whose key starts with a prefix.
+     * @param prefix the key prefix
+     * @return the matching properties keyed by the remainder of the key, sorted
+     */
+    public static Map<String, String> getPropertiesWithPrefix(final String prefix) {
+        Map<String, String> matches = new TreeMap<>();
+        for (String key : PROPERTIES.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                matches.put(key.substring(prefix.length()), PROPERTIES.getProperty(key));
+            }
+        }
+        return matches;
+    }
+
     /**
      * Sets a property value by key.
      * @param key the property key
@@ -0,0 +1,268 @@
+package com.anil.qa.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * CsvDataSource reads delimited text files (RFC 4180 CSV, or TSV) whose first
+ * record is the header. The file is memory-mapped and scanned byte by byte;
+ * each field is decoded from a reusable byte buffer into a single String, with
+ * values de-duplicated across rows. Quoted fields may contain delimiters,
+ * doubled quotes and line breaks; a UTF-8 byte order mark is skipped.
+ * <p>
+ * Short records are padded with "" and extra fields are ignored. Blank lines
+ * are skipped.
+ */
+public final class CsvDataSource implements TestDataSource {
+    /** Logger instance. */
+    private static final Logger LOGGER = LogManager.getLogger(CsvDataSource.class);
+
+    /** Field separator. */
+    private final char delimiter;
+    /** Extensions read by this source. */
+    private final List<String> extensions;
+
+    /**
+     * Creates a source for comma-separated .csv files.
+     */
+    public CsvDataSource() {
+        this(',', "csv");
+    }
+
+    /**
+     * Creates a source for another delimiter.
+     * @param fieldDelimiter the field separator, an ASCII character
+     * @param fileExtensions the extensions to read
+     */
+    public CsvDataSource(final char fieldDelimiter, final String... fileExtensions) {
+        if (fieldDelimiter == '"' || fieldDelimiter == '\n' || fieldDelimiter == '\r'
+                || fieldDelimiter > 0x7F) {
+            throw new IllegalArgumentException("Unsupported delimiter: " + fieldDelimiter);
+        }
+        this.delimiter = fieldDelimiter;
+        this.extensions = Collections.unmodifiableList(Arrays.asList(fileExtensions));
+    }
+
+    @Override
+    public List<String> getExtensions() {
+        return extensions;
+    }
+
+    @Override
+    public Object[][] getTestData(final String filePath, final String sheetName) {
+        List<Object[]> rows = new ArrayList<>();
+        try (RowIterator iterator = new RowIterator(filePath)) {
+            iterator.forEachRemaining(row -> rows.add(new Object[] {row}));
+        }
+        LOGGER.info("Test data loaded from {}: {} rows", filePath, rows.size());
+        return rows.toArray(new Object[0][]);
+    }
+
+    @Override
+    public Iterator<Object[]> getTestDataIterator(final String filePath, final String sheetName) {
+        RowIterator rows = new RowIterator(filePath);
+        return new Iterator<Object[]>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                return new Object[] {rows.next()};
+            }
+        };
+    }
+
+    /**
+     * Reads the records of one file; closes it after the last record.
+     */
+    private final class RowIterator implements Iterator<DataRow>, Closeable {
+        /** The mapped file. */
+        private final MappedFileReader in;
+        /** The file path, for messages. */
+        private final String source;
+        /** The header record. */
+        private final DataSchema schema;
+        /** De-duplicates values across rows. */
+        private final ValuePool pool = new ValuePool();
+        /** Fields of the record being read. */
+        private final List<String> fields = new ArrayList<>();
+        /** Bytes of the field being read. */
+        private byte[] scratch = new byte[256];
+        /** Number of bytes in {@link #scratch}. */
+        private int length;
+        /** Next row, or null at the end of the file. */
+        private DataRow pending;
+        /** Whether the file has been closed. */
+        private boolean closed;
+
+        RowIterator(final String filePath) {
+            this.source = filePath;
+            try {
+                this.in = new MappedFileReader(Paths.get(filePath));
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to open test data file: " + filePath, e);
+            }
+            try {
+                skipByteOrderMark();
+                this.schema = DataSchema.of(readRecord() ? new ArrayList<>(fields)
+                        : Collections.emptyList());
+                this.pending = readRow();
+            } catch (final IOException | RuntimeException e) {
+                close();
+                throw new RuntimeException("Failed to read test data file: " + filePath, e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pending == null) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public DataRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            DataRow row = pending;
+            try {
+                pending = readRow();
+            } catch (final IOException | RuntimeException e) {
+                close();
+                throw new RuntimeException("Failed to read test data file: " + source, e);
+            }
+            return row;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                in.close();
+            } catch (final IOException e) {
+                LOGGER.warn("Failed to close test data file: {}", source, e);
+            }
+        }
+
+        private void skipByteOrderMark() throws IOException {
+            if (in.peek() == 0xEF) {
+                in.read();
+                if (in.read() != 0xBB || in.read() != 0xBF) {
+                    throw new IllegalStateException("Not a UTF-8 text file");
+                }
+            }
+        }
+
+        private DataRow readRow() throws IOException {
+            if (!readRecord()) {
+                return null;
+            }
+            String[] values = new String[schema.width()];
+            int count = Math.min(values.length, fields.size());
+            for (int i = 0; i < values.length; i++) {
+                values[i] = i < count ? fields.get(i) : "";
+            }
+            return schema.row(values);
+        }
+
+        /**
+         * Reads the next non-blank record into {@link #fields}.
+         * @return false at the end of the file
+         */
+        private boolean readRecord() throws IOException {
+            while (true) {
+                fields.clear();
+                int c = in.peek();
+                if (c < 0) {
+                    return false;
+                }
+                if (c == '\n' || c == '\r') {
+                    skipLineBreak();
+                    continue;
+                }
+                while (true) {
+                    c = readField();
+                    if (c != delimiter) {
+                        skipLineBreak();
+                        return true;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Reads one field into {@link #fields}.
+         * @return the byte that ended it: the delimiter, a line break or -1
+         */
+        private int readField() throws IOException {
+            length = 0;
+            int c = in.read();
+            if (c == '"') {
+                while (true) {
+                    c = in.read();
+                    if (c < 0) {
+                        throw new IllegalStateException("Unterminated quoted field at byte "
+                                + in.position());
+                    }
+                    if (c == '"') {
+                        if (in.peek() != '"') {
+                            break;
+                        }
+                        in.read();
+                    }
+                    append(c);
+                }
+                c = in.read();
+                // Anything between the closing quote and the delimiter is dropped
+                while (c >= 0 && c != delimiter && c != '\n' && c != '\r') {
+                    c = in.read();
+                }
+            } else {
+                while (c >= 0 && c != delimiter && c != '\n' && c != '\r') {
+                    append(c);
+                    c = in.read();
+                }
+            }
+            fields.add(pool.get(new String(scratch, 0, length, StandardCharsets.UTF_8)));
+            return c;
+        }
+
+        private void skipLineBreak() throws IOException {
+            int c = in.peek();
+            if (c == '\r') {
+                in.read();
+                c = in.peek();
+            }
+            if (c == '\n') {
+                in.read();
+            }
+        }
+
+        private void append(final int b) {
+            if (length == scratch.length) {
+                scratch = Arrays.copyOf(scratch, length * 2);
+            }
+            scratch[length++] = (byte) b;
+        }
+    }
+}
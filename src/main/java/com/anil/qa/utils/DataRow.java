@@ -0,0 +1,92 @@
+package com.anil.qa.utils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * DataRow is one row of test data: a read-only map of header to value backed
+ * by the sheet's shared {@link DataSchema} and a flat array of values. Rows are
+ * immutable, so data providers can hand the same instance to every test.
+ */
+public final class DataRow extends AbstractMap<String, String> {
+    /** The shared header index. */
+    private final DataSchema schema;
+    /** Value per column. */
+    private final String[] values;
+
+    DataRow(final DataSchema rowSchema, final String[] columnValues) {
+        this.schema = rowSchema;
+        this.values = columnValues;
+    }
+
+    /**
+     * Gets the schema of this row.
+     * @return the schema
+     */
+    public DataSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Gets a value by column.
+     * @param column the column index
+     * @return the value
+     */
+    public String get(final int column) {
+        return values[column];
+    }
+
+    @Override
+    public String get(final Object key) {
+        int column = schema.indexOf(key);
+        return column < 0 ? null : values[column];
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return schema.indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return schema.getHeaders().size();
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        return new AbstractSet<Map.Entry<String, String>>() {
+            @Override
+            public Iterator<Map.Entry<String, String>> iterator() {
+                return new Iterator<Map.Entry<String, String>>() {
+                    /** Position in the schema's header names. */
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < size();
+                    }
+
+                    @Override
+                    public Map.Entry<String, String> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        String header = schema.getHeaders().get(next);
+                        String value = values[schema.column(next)];
+                        next++;
+                        return new SimpleImmutableEntry<>(header, value);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return DataRow.this.size();
+            }
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package com.anil.qa.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataSchema is the header row of a test-data sheet, shared by all of its
+ * {@link DataRow}s: each row holds only a flat array of values and finds a
+ * column through this index instead of carrying its own map.
+ * <p>
+ * Columns without a header are ignored. If a header repeats, the last column
+ * with that name wins, as it did for the row maps built before.
+ */
+public final class DataSchema {
+    /** Header of each column as read, null for columns without one. */
+    private final String[] headers;
+    /** Distinct header names, in column order of their first occurrence. */
+    private final List<String> names;
+    /** Column index per header name. */
+    private final Map<String, Integer> index;
+    /** Column index per entry of {@link #names}. */
+    private final int[] columns;
+    /** Number of columns, including those without a header. */
+    private final int width;
+
+    private DataSchema(final List<String> columnHeaders) {
+        this.headers = columnHeaders.toArray(new String[0]);
+        Map<String, Integer> positions = new HashMap<>();
+        List<String> distinct = new ArrayList<>();
+        for (int column = 0; column < headers.length; column++) {
+            String header = headers[column];
+            if (header != null && positions.put(header, column) == null) {
+                distinct.add(header);
+            }
+        }
+        this.names = Collections.unmodifiableList(distinct);
+        this.index = positions;
+        this.columns = new int[distinct.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = positions.get(distinct.get(i));
+        }
+        this.width = headers.length;
+    }
+
+    /**
+     * Creates a schema from a header row.
+     * @param headers the header of each column, null for columns without one
+     * @return the schema
+     */
+    public static DataSchema of(final List<String> headers) {
+        return new DataSchema(headers);
+    }
+
+    /**
+     * Gets the distinct header names.
+     * @return the names in column order
+     */
+    public List<String> getHeaders() {
+        return names;
+    }
+
+    /**
+     * Gets the number of columns rows of this schema hold.
+     * @return the column count
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Gets the column of a header.
+     * @param header the header name
+     * @return the column index, or -1 if there is no such header
+     */
+    public int indexOf(final Object header) {
+        Integer column = index.get(header);
+        return column == null ? -1 : column;
+    }
+
+    /**
+     * Creates a row of this schema.
+     * @param values one value per column; the array is kept, not copied
+     * @return the row
+     */
+    DataRow row(final String[] values) {
+        if (values.length != width) {
+            throw new IllegalArgumentException("Expected " + width + " values but got "
+                    + values.length);
+        }
+        return new DataRow(this, values);
+    }
+
+    /**
+     * Gets the header of a column as it was read, including repeated headers
+     * that lost to a later column.
+     * @param column the column index
+     * @return the header, or null if the column has none
+     */
+    String header(final int column) {
+        return headers[column];
+    }
+
+    /**
+     * Gets the column of the n-th distinct header.
+     * @param n the position in {@link #getHeaders()}
+     * @return the column index
+     */
+    int column(final int n) {
+        return columns[n];
+    }
+}
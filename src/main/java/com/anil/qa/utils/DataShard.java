@@ -0,0 +1,188 @@
+package com.anil.qa.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DataShard selects the part of a data set one JVM fork runs, so large sheets
+ * can be split across forks and machines. Each fork is started with the same
+ * shard.count and its own shard.index (0-based), given as system properties
+ * or in the configuration; every row goes to exactly one shard.
+ * <p>
+ * Modes (shard.mode):
+ * <ul>
+ * <li>range: contiguous blocks of rows; a fork reading a snapshot only reads
+ * its own block</li>
+ * <li>modulo: every shard.count-th row, starting at shard.index</li>
+ * <li>hash: by the hash of the shard.key column, so a row stays in the same
+ * shard when rows are inserted or reordered</li>
+ * </ul>
+ */
+public final class DataShard {
+    /** The unsharded data set. */
+    private static final DataShard ALL = new DataShard(0, 1, Mode.RANGE, null);
+
+    /** Shard selection modes. */
+    public enum Mode {
+        /** Contiguous blocks of rows. */
+        RANGE,
+        /** Rows by index modulo the shard count. */
+        MODULO,
+        /** Rows by the hash of a key column. */
+        HASH
+    }
+
+    /** 0-based shard index. */
+    private final int index;
+    /** Number of shards. */
+    private final int count;
+    /** Selection mode. */
+    private final Mode mode;
+    /** Key column for hash mode, or null to hash the row's values. */
+    private final String key;
+
+    private DataShard(final int shardIndex, final int shardCount, final Mode shardMode,
+            final String keyColumn) {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("Invalid shard " + shardIndex + " of "
+                    + shardCount);
+        }
+        this.index = shardIndex;
+        this.count = shardCount;
+        this.mode = shardMode;
+        this.key = keyColumn;
+    }
+
+    /**
+     * Creates a shard.
+     * @param shardIndex the 0-based shard index
+     * @param shardCount the number of shards
+     * @param shardMode the selection mode
+     * @param keyColumn the key column for hash mode, or null to hash whole rows
+     * @return the shard
+     */
+    public static DataShard of(final int shardIndex, final int shardCount,
+            final Mode shardMode, final String keyColumn) {
+        return new DataShard(shardIndex, shardCount, shardMode, keyColumn);
+    }
+
+    /**
+     * Gets the unsharded data set.
+     * @return a shard selecting every row
+     */
+    public static DataShard all() {
+        return ALL;
+    }
+
+    /**
+     * Gets the shard of this fork from shard.index, shard.count, shard.mode
+     * and shard.key, looked up in system properties, then the configuration.
+     * @return the shard, or {@link #all()} if shard.count is unset or 1
+     */
+    public static DataShard current() {
+        int shardCount = Integer.parseInt(setting("shard.count", "1"));
+        if (shardCount <= 1) {
+            return ALL;
+        }
+        return new DataShard(Integer.parseInt(setting("shard.index", "0")), shardCount,
+                Mode.valueOf(setting("shard.mode", "range").trim().toUpperCase()),
+                setting("shard.key", null));
+    }
+
+    /**
+     * Gets a setting from system properties, then the configuration.
+     * @param key the property key
+     * @param defaultValue the default value
+     * @return the value
+     */
+    static String setting(final String key, final String defaultValue) {
+        String value = System.getProperty(key);
+        return value != null ? value : ConfigManager.getProperty(key, defaultValue);
+    }
+
+    /**
+     * Checks whether this shard selects every row.
+     * @return true if there is a single shard
+     */
+    public boolean isAll() {
+        return count == 1;
+    }
+
+    /**
+     * Gets the selection mode.
+     * @return the mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Gets the first row of this shard in range mode.
+     * @param rowCount the number of rows in the data set
+     * @return the 0-based index of the first row
+     */
+    public int rangeStart(final int rowCount) {
+        return (int) ((long) rowCount * index / count);
+    }
+
+    /**
+     * Gets the end of this shard in range mode.
+     * @param rowCount the number of rows in the data set
+     * @return the 0-based index after the last row
+     */
+    public int rangeEnd(final int rowCount) {
+        return (int) ((long) rowCount * (index + 1) / count);
+    }
+
+    /**
+     * Checks whether a row belongs to this shard in modulo or hash mode.
+     * @param rowIndex the 0-based row index
+     * @param row the row
+     * @return true if the row belongs to this shard
+     * @throws IllegalStateException in range mode, which needs the row count
+     * @throws IllegalArgumentException if the hash key is not a column of the row
+     */
+    public boolean accepts(final int rowIndex, final DataRow row) {
+        switch (mode) {
+            case MODULO:
+                return rowIndex % count == index;
+            case HASH:
+                if (key != null && !row.containsKey(key)) {
+                    throw new IllegalArgumentException("shard.key '" + key
+                            + "' is not a column of the test data; available: "
+                            + row.getSchema().getHeaders());
+                }
+                Object value = key == null ? row : row.get(key);
+                return Math.floorMod(value == null ? 0 : value.hashCode(), count) == index;
+            default:
+                throw new IllegalStateException("Range shards need the row count");
+        }
+    }
+
+    /**
+     * Selects the rows of this shard.
+     * @param rows all rows of the data set
+     * @return the rows of this shard, in their original order
+     */
+    public List<DataRow> select(final List<DataRow> rows) {
+        if (isAll()) {
+            return rows;
+        }
+        if (mode == Mode.RANGE) {
+            return rows.subList(rangeStart(rows.size()), rangeEnd(rows.size()));
+        }
+        List<DataRow> selected = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (accepts(i, rows.get(i))) {
+                selected.add(rows.get(i));
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public String toString() {
+        return isAll() ? "all" : mode.name().toLowerCase() + " " + index + "/" + count
+                + (key == null ? "" : " by " + key);
+    }
+}
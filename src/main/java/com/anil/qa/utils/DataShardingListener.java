@@ -0,0 +1,70 @@
+package com.anil.qa.utils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.IAnnotationTransformer;
+import org.testng.annotations.IDataProviderAnnotation;
+import org.testng.xml.XmlSuite;
+
+/**
+ * DataShardingListener runs data providers in parallel without editing each
+ * {@code @DataProvider}: with data.provider.parallel=true every data provider
+ * is made parallel and the suites' data provider thread pool is sized from
+ * data.provider.threads (default: one per core). Combined with shard.index
+ * and shard.count (see {@link DataShard}), a large sheet is split across forks
+ * and then across the cores of each fork.
+ * <p>
+ * Register it in testng.xml; annotation transformers cannot be added with
+ * {@code @Listeners}.
+ */
+public final class DataShardingListener implements IAlterSuiteListener, IAnnotationTransformer {
+    /** Logger instance. */
+    private static final Logger LOGGER = LogManager.getLogger(DataShardingListener.class);
+
+    /**
+     * Sizes the data provider thread pool of each suite.
+     * @param suites the suites to run
+     */
+    @Override
+    public void alter(final List<XmlSuite> suites) {
+        // Suite listeners run before BaseTest loads the configuration. Without
+        // a config file, settings come from system properties and defaults.
+        if (!ConfigManager.isLoaded()) {
+            try {
+                ConfigManager.loadConfig();
+            } catch (final RuntimeException e) {
+                LOGGER.info("No configuration for data sharding; using system properties");
+            }
+        }
+        if (!isParallel()) {
+            return;
+        }
+        int threads = Integer.parseInt(DataShard.setting("data.provider.threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        for (XmlSuite suite : suites) {
+            suite.setDataProviderThreadCount(threads);
+        }
+        LOGGER.info("Parallel data providers with {} threads, shard {}", threads,
+                DataShard.current());
+    }
+
+    /**
+     * Makes a data provider parallel.
+     * @param annotation the data provider annotation
+     * @param method the data provider method
+     */
+    @Override
+    public void transform(final IDataProviderAnnotation annotation, final Method method) {
+        if (isParallel()) {
+            annotation.setParallel(true);
+        }
+    }
+
+    private static boolean isParallel() {
+        return Boolean.parseBoolean(DataShard.setting("data.provider.parallel", "false"));
+    }
+}
@@ -0,0 +1,377 @@
+package com.anil.qa.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * ExcelDataCache keeps parsed test-data sheets for the life of the JVM, so
+ * every data provider using a sheet after the first gets it without opening
+ * the workbook again. Entries are keyed by file and sheet and revalidated
+ * against the file's size and modification time on each use.
+ * <p>
+ * Parsed sheets are also written to a binary snapshot next to the workbook
+ * ({@code .<file>.<sheet>.snapshot}), which later runs and other JVM forks
+ * load instead of parsing the XLSX. A snapshot stores each distinct value once
+ * in a dictionary and rows as indexes into it, so loading it also restores the
+ * sharing of repeated values. It records the workbook's size,
+ * modification time and SHA-256; if the time differs the hash decides. A
+ * snapshot whose hash still matches is re-stamped with the new time, and a
+ * stale or unreadable snapshot is rebuilt. Controlled by excel.cache.enabled
+ * and excel.snapshot.enabled.
+ */
+final class ExcelDataCache {
+    /** Logger instance. */
+    private static final Logger LOGGER = LogManager.getLogger(ExcelDataCache.class);
+    /** Snapshot file marker. */
+    private static final int MAGIC = 0x45515344;
+    /** Snapshot format version. */
+    private static final int VERSION = 3;
+    /** Offset of the workbook modification time in a snapshot header. */
+    private static final long MODIFIED_OFFSET = Integer.BYTES * 2 + Long.BYTES;
+    /** Parsed sheets keyed by absolute path and sheet name. */
+    private static final Map<String, SheetData> CACHE = new ConcurrentHashMap<>();
+
+    private ExcelDataCache() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Gets a parsed sheet from the cache, a snapshot or the workbook, in that
+     * order.
+     * @param filePath the path to the .xlsx file
+     * @param sheetName the sheet name
+     * @return the sheet data
+     */
+    static SheetData get(final String filePath, final String sheetName) {
+        return get(filePath, sheetName, DataShard.all());
+    }
+
+    /**
+     * Gets one shard of a parsed sheet. A range shard loaded from a snapshot
+     * reads only its own rows.
+     * @param filePath the path to the .xlsx file
+     * @param sheetName the sheet name
+     * @param shard the rows to keep
+     * @return the sheet data, holding only the rows of the shard
+     */
+    static SheetData get(final String filePath, final String sheetName,
+            final DataShard shard) {
+        Path file = Paths.get(filePath).toAbsolutePath().normalize();
+        if (!isEnabled("excel.cache.enabled")) {
+            return load(file, sheetName, shard, stat(file));
+        }
+        String key = file + "\u0000" + sheetName + "\u0000" + shard;
+        FileStamp stamp = stat(file);
+        SheetData cached = CACHE.get(key);
+        if (cached != null && cached.stamp.sameTimeAndSize(stamp)) {
+            return cached;
+        }
+        return CACHE.compute(key, (k, current) ->
+                current != null && current.stamp.sameTimeAndSize(stamp)
+                        ? current
+                        : load(file, sheetName, shard, stamp));
+    }
+
+    /**
+     * Drops all cached sheets. Snapshots on disk are kept.
+     */
+    static void clear() {
+        CACHE.clear();
+    }
+
+    private static SheetData load(final Path file, final String sheetName,
+            final DataShard shard, final FileStamp stamp) {
+        boolean snapshots = isEnabled("excel.snapshot.enabled");
+        Path snapshot = file.resolveSibling("." + file.getFileName() + "." + sheetName
+                + ".snapshot");
+        if (snapshots && Files.exists(snapshot)) {
+            SheetData data = readSnapshot(snapshot, file, sheetName, shard, stamp);
+            if (data != null) {
+                LOGGER.info("Test data loaded from snapshot: {} ({} rows, shard {})",
+                        snapshot, data.rows.size(), shard);
+                return data;
+            }
+        }
+        SheetData data = parse(file, sheetName, stamp);
+        if (snapshots) {
+            writeSnapshot(snapshot, file, sheetName, data);
+        }
+        if (shard.isAll()) {
+            return data;
+        }
+        return new SheetData(stamp, data.schema, new ArrayList<>(shard.select(data.rows)));
+    }
+
+    private static SheetData parse(final Path file, final String sheetName,
+            final FileStamp stamp) {
+        try (ExcelRowIterator rows = new ExcelRowIterator(file.toString(), sheetName)) {
+            List<DataRow> values = new ArrayList<>();
+            rows.forEachRemaining(values::add);
+            return new SheetData(stamp, rows.getSchema(), values);
+        }
+    }
+
+    private static SheetData readSnapshot(final Path snapshot, final Path file,
+            final String sheetName, final DataShard shard, final FileStamp stamp) {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                LOGGER.info("Rebuilding snapshot in an old format: {}", snapshot);
+                return null;
+            }
+            long size = in.readLong();
+            long modified = in.readLong();
+            byte[] hash = new byte[in.readInt()];
+            in.readFully(hash);
+            if (!sheetName.equals(in.readUTF())) {
+                return null;
+            }
+            FileStamp recorded = new FileStamp(size, modified);
+            if (!recorded.sameTimeAndSize(stamp)) {
+                if (size != stamp.size || !Arrays.equals(hash, sha256(file))) {
+                    LOGGER.info("Rebuilding stale snapshot: {}", snapshot);
+                    return null;
+                }
+                // Touched but unchanged: record the new time so the next load
+                // takes the size-and-time path instead of hashing again
+                restamp(snapshot, stamp);
+            }
+            List<String> headers = new ArrayList<>();
+            int columns = in.readInt();
+            for (int i = 0; i < columns; i++) {
+                headers.add(readString(in));
+            }
+            DataSchema schema = DataSchema.of(headers);
+            String[] dictionary = new String[in.readInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = readString(in);
+            }
+            int rowCount = in.readInt();
+            int first = 0;
+            int end = rowCount;
+            if (!shard.isAll() && shard.getMode() == DataShard.Mode.RANGE) {
+                // Rows are fixed width, so skip straight to the shard's block
+                first = shard.rangeStart(rowCount);
+                end = shard.rangeEnd(rowCount);
+                skipFully(in, (long) first * columns * Integer.BYTES);
+            }
+            List<DataRow> rows = new ArrayList<>(end - first);
+            for (int r = first; r < end; r++) {
+                String[] cells = new String[columns];
+                for (int c = 0; c < columns; c++) {
+                    cells[c] = dictionary[in.readInt()];
+                }
+                DataRow row = schema.row(cells);
+                if (shard.isAll() || shard.getMode() == DataShard.Mode.RANGE
+                        || shard.accepts(r, row)) {
+                    rows.add(row);
+                }
+            }
+            return new SheetData(stamp, schema, rows);
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.warn("Ignoring unreadable snapshot: {}", snapshot, e);
+            return null;
+        }
+    }
+
+    private static void writeSnapshot(final Path snapshot, final Path file,
+            final String sheetName, final SheetData data) {
+        try {
+            Path temp = Files.createTempFile(snapshot.getParent(),
+                    snapshot.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        Files.newOutputStream(temp), 1 << 16))) {
+                    byte[] hash = sha256(file);
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.writeLong(data.stamp.size);
+                    out.writeLong(data.stamp.modified);
+                    out.writeInt(hash.length);
+                    out.write(hash);
+                    out.writeUTF(sheetName);
+                    DataSchema schema = data.schema;
+                    out.writeInt(schema.width());
+                    for (int c = 0; c < schema.width(); c++) {
+                        writeString(out, schema.header(c));
+                    }
+                    Map<String, Integer> dictionary = new LinkedHashMap<>();
+                    for (DataRow row : data.rows) {
+                        for (int c = 0; c < schema.width(); c++) {
+                            dictionary.putIfAbsent(row.get(c), dictionary.size());
+                        }
+                    }
+                    out.writeInt(dictionary.size());
+                    for (String value : dictionary.keySet()) {
+                        writeString(out, value);
+                    }
+                    out.writeInt(data.rows.size());
+                    for (DataRow row : data.rows) {
+                        for (int c = 0; c < schema.width(); c++) {
+                            out.writeInt(dictionary.get(row.get(c)));
+                        }
+                    }
+                }
+                Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                LOGGER.info("Test data snapshot written: {}", snapshot);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (final IOException e) {
+            LOGGER.warn("Cannot write test data snapshot: {}", snapshot, e);
+        }
+    }
+
+    private static void restamp(final Path snapshot, final FileStamp stamp) {
+        ByteBuffer modified = ByteBuffer.allocate(Long.BYTES).putLong(0, stamp.modified);
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.write(modified, MODIFIED_OFFSET);
+        } catch (final IOException e) {
+            LOGGER.warn("Cannot update test data snapshot: {}", snapshot, e);
+        }
+    }
+
+    private static void skipFully(final DataInputStream in, final long bytes)
+            throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            int skipped = in.skipBytes((int) Math.min(remaining, Integer.MAX_VALUE));
+            if (skipped <= 0) {
+                throw new IOException("Snapshot ends before row data");
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static void writeString(final DataOutputStream out, final String value)
+            throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] sha256(final Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            byte[] buffer = new byte[1 << 16];
+            while (in.read(buffer) >= 0) {
+                // Digested while reading
+            }
+        }
+        return digest.digest();
+    }
+
+    private static FileStamp stat(final Path file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file,
+                    BasicFileAttributes.class);
+            return new FileStamp(attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (final IOException e) {
+            throw new RuntimeException("Failed to load test data from Excel file: " + file, e);
+        }
+    }
+
+    private static boolean isEnabled(final String key) {
+        return Boolean.parseBoolean(ConfigManager.getProperty(key, "true"));
+    }
+
+    /**
+     * Size and modification time of a workbook.
+     */
+    private static final class FileStamp {
+        /** File size in bytes. */
+        private final long size;
+        /** Last modification time in epoch millis. */
+        private final long modified;
+
+        FileStamp(final long fileSize, final long lastModified) {
+            this.size = fileSize;
+            this.modified = lastModified;
+        }
+
+        boolean sameTimeAndSize(final FileStamp other) {
+            return size == other.size && modified == other.modified;
+        }
+    }
+
+    /**
+     * The parsed rows of one sheet.
+     */
+    static final class SheetData {
+        /** Workbook size and time when parsed. */
+        private final FileStamp stamp;
+        /** The header row. */
+        private final DataSchema schema;
+        /** The data rows. */
+        private final List<DataRow> rows;
+
+        private SheetData(final FileStamp fileStamp, final DataSchema rowSchema,
+                final List<DataRow> dataRows) {
+            this.stamp = fileStamp;
+            this.schema = rowSchema;
+            this.rows = Collections.unmodifiableList(dataRows);
+        }
+
+        /**
+         * Gets the header row.
+         * @return the schema shared by the rows
+         */
+        DataSchema getSchema() {
+            return schema;
+        }
+
+        /**
+         * Gets the data rows.
+         * @return the immutable rows
+         */
+        List<DataRow> getRows() {
+            return rows;
+        }
+    }
+}
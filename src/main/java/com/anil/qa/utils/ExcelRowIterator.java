@@ -0,0 +1,319 @@
+package com.anil.qa.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.SAXException;
+
+/**
+ * ExcelRowIterator reads the data rows of one .xlsx sheet lazily, as
+ * {@link DataRow}s like {@link ExcelUtils#getTestData}, without building the
+ * workbook model. The sheet XML is pulled from the package one row at a time,
+ * so the first row is available at once and memory does not grow with the
+ * number of rows; only the workbook's shared strings are held.
+ * <p>
+ * Values match ExcelUtils: numbers as String.valueOf(double), booleans as
+ * true/false, formulas as their formula text, errors and missing cells as "".
+ * Cells that continue a shared formula carry no formula text in the file and
+ * yield their cached value instead. The package is closed when the last row
+ * has been read or {@link #close()} is called.
+ */
+final class ExcelRowIterator implements Iterator<DataRow>, Closeable {
+    /** Logger instance. */
+    private static final Logger LOGGER = LogManager.getLogger(ExcelRowIterator.class);
+
+    /** The open workbook package. */
+    private final OPCPackage pkg;
+    /** The sheet XML. */
+    private final InputStream sheet;
+    /** Pull parser over the sheet XML. */
+    private final XMLStreamReader xml;
+    /** Shared strings of the workbook. */
+    private final ReadOnlySharedStringsTable sharedStrings;
+    /** The header row. */
+    private final DataSchema schema;
+    /** De-duplicates values across rows. */
+    private final ValuePool pool = new ValuePool();
+    /** Number of columns, as the header row's last cell number. */
+    private final int columnCount;
+    /** Description used in log and error messages. */
+    private final String source;
+
+    /** Next physical row read ahead, or null at the end of the sheet. */
+    private Row pending;
+    /** 1-based number of the next row to return. */
+    private int nextRowNumber;
+    /** 1-based number of the last row element read. */
+    private int lastRowNumber;
+    /** Number of rows returned. */
+    private int rowsRead;
+    /** Whether the package has been closed. */
+    private boolean closed;
+
+    /**
+     * Opens a sheet and reads its header row.
+     * @param filePath the path to the .xlsx file
+     * @param sheetName the sheet name
+     */
+    ExcelRowIterator(final String filePath, final String sheetName) {
+        this.source = filePath + " [" + sheetName + "]";
+        try {
+            this.pkg = OPCPackage.open(filePath, PackageAccess.READ);
+        } catch (final OpenXML4JException e) {
+            throw new RuntimeException("Failed to open Excel file: " + filePath, e);
+        }
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            this.sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            this.sheet = openSheet(reader, sheetName);
+            this.xml = XMLHelper.newXMLInputFactory().createXMLStreamReader(sheet);
+            Row header = readRow();
+            this.columnCount = header == null || header.cells.isEmpty()
+                    ? 0
+                    : header.cells.lastKey() + 1;
+            List<String> headers = new ArrayList<>();
+            for (int column = 0; column < columnCount; column++) {
+                headers.add(header.cells.get(column));
+            }
+            this.schema = DataSchema.of(headers);
+            this.nextRowNumber = header == null ? 1 : header.number + 1;
+            this.pending = readRow();
+        } catch (final IOException | OpenXML4JException | SAXException
+                | XMLStreamException | RuntimeException e) {
+            pkg.revert();
+            throw new RuntimeException("Failed to stream test data from Excel file: "
+                    + source, e);
+        }
+    }
+
+    /**
+     * Gets the header row shared by the returned rows.
+     * @return the schema
+     */
+    DataSchema getSchema() {
+        return schema;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pending == null) {
+            close();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public DataRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        DataRow values;
+        if (pending.number > nextRowNumber) {
+            // A row absent from the file reads as empty cells
+            values = toRow(new TreeMap<>());
+        } else {
+            values = toRow(pending.cells);
+            try {
+                pending = readRow();
+            } catch (final XMLStreamException e) {
+                close();
+                throw new RuntimeException("Failed to stream test data from Excel file: "
+                        + source, e);
+            }
+        }
+        nextRowNumber++;
+        rowsRead++;
+        return values;
+    }
+
+    /**
+     * Closes the workbook package.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            xml.close();
+            sheet.close();
+        } catch (final XMLStreamException | IOException e) {
+            LOGGER.warn("Failed to close Excel sheet: {}", source, e);
+        } finally {
+            pkg.revert();
+        }
+        LOGGER.info("Test data streamed from Excel: {} rows, {} columns", rowsRead,
+                columnCount);
+    }
+
+    private DataRow toRow(final Map<Integer, String> cells) {
+        String[] values = new String[columnCount];
+        for (int column = 0; column < columnCount; column++) {
+            values[column] = pool.get(cells.get(column));
+        }
+        return schema.row(values);
+    }
+
+    private static InputStream openSheet(final XSSFReader reader, final String sheetName)
+            throws IOException, OpenXML4JException {
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext()) {
+            InputStream data = sheets.next();
+            if (sheetName.equals(sheets.getSheetName())) {
+                return data;
+            }
+            data.close();
+        }
+        throw new IllegalArgumentException("No sheet named '" + sheetName + "'");
+    }
+
+    /**
+     * Reads the next row element.
+     * @return the row, or null at the end of the sheet data
+     */
+    private Row readRow() throws XMLStreamException {
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                String r = xml.getAttributeValue(null, "r");
+                lastRowNumber = r == null ? lastRowNumber + 1 : Integer.parseInt(r);
+                Row row = new Row(lastRowNumber);
+                readCells(row);
+                return row;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT
+                    && "sheetData".equals(xml.getLocalName())) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private void readCells(final Row row) throws XMLStreamException {
+        int column = -1;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                return;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                String ref = xml.getAttributeValue(null, "r");
+                column = ref == null ? column + 1 : columnIndex(ref);
+                String type = xml.getAttributeValue(null, "t");
+                row.cells.put(column, readCell(type));
+            }
+        }
+    }
+
+    /**
+     * Reads one cell element and converts it as getCellValueAsString does.
+     */
+    private String readCell(final String type) throws XMLStreamException {
+        String formula = null;
+        StringBuilder value = new StringBuilder();
+        StringBuilder inline = new StringBuilder();
+        boolean inInline = false;
+        String element = null;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                element = xml.getLocalName();
+                if ("is".equals(element)) {
+                    inInline = true;
+                } else if ("f".equals(element)) {
+                    formula = "";
+                }
+            } else if (event == XMLStreamConstants.CHARACTERS
+                    || event == XMLStreamConstants.CDATA) {
+                if ("f".equals(element)) {
+                    formula += xml.getText();
+                } else if ("v".equals(element)) {
+                    value.append(xml.getText());
+                } else if (inInline && "t".equals(element)) {
+                    inline.append(xml.getText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                String name = xml.getLocalName();
+                if ("c".equals(name)) {
+                    break;
+                }
+                if ("is".equals(name)) {
+                    inInline = false;
+                }
+                element = null;
+            }
+        }
+        if (formula != null && !formula.isEmpty()) {
+            return formula;
+        }
+        String raw = value.toString();
+        if (type == null || "n".equals(type)) {
+            return raw.isEmpty() ? "" : String.valueOf(Double.parseDouble(raw));
+        }
+        switch (type) {
+            case "s":
+                return raw.isEmpty()
+                        ? ""
+                        : sharedStrings.getItemAt(Integer.parseInt(raw)).getString();
+            case "inlineStr":
+                return inline.toString();
+            case "str":
+                return raw;
+            case "b":
+                return String.valueOf("1".equals(raw) || "true".equalsIgnoreCase(raw));
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * Converts the column letters of a cell reference such as "AB12" to a
+     * 0-based column index.
+     */
+    private static int columnIndex(final String ref) {
+        int column = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            char c = ref.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    /**
+     * One physical row of the sheet.
+     */
+    private static final class Row {
+        /** 1-based row number. */
+        private final int number;
+        /** Cell values by column index. */
+        private final TreeMap<Integer, String> cells = new TreeMap<>();
+
+        Row(final int rowNumber) {
+            this.number = rowNumber;
+        }
+    }
+}
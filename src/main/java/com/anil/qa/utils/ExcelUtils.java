@@ -3,7 +3,7 @@ package com.anil.qa.utils;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -22,8 +22,8 @@ import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 public class ExcelUtils implements IExcelUtils {
     private static final Logger logger = LogManager.getLogger(ExcelUtils.class);
 
-    private ExcelUtils() {
-        // Private constructor to prevent instantiation
+    ExcelUtils() {
+        // Instantiated by provideData and TestDataSources only
     }
 
     @Override
@@ -37,16 +37,23 @@ public class ExcelUtils implements IExcelUtils {
 
             Object[][] data = new Object[rowCount][1];
 
+            // Read the header row once; every row shares it through the schema
+            List<String> headers = new ArrayList<>();
+            for (int j = 0; j < colCount; j++) {
+                headers.add(sheet.getRow(0).getCell(j).getStringCellValue());
+            }
+            DataSchema schema = DataSchema.of(headers);
+            ValuePool pool = new ValuePool();
+
             for (int i = 0; i < rowCount; i++) {
-                Map<String, String> map = new HashMap<>();
+                Row row = sheet.getRow(i + 1);
+                String[] values = new String[colCount];
 
                 for (int j = 0; j < colCount; j++) {
-                    String key = sheet.getRow(0).getCell(j).getStringCellValue();
-                    String value = getCellValueAsString(sheet.getRow(i + 1).getCell(j));
-                    map.put(key, value);
+                    values[j] = pool.get(getCellValueAsString(row.getCell(j)));
                 }
 
-                data[i][0] = map;
+                data[i][0] = schema.row(values);
             }
 
             logger.info("Test data loaded from Excel: {} rows, {} columns", 
@@ -60,51 +67,90 @@ public class ExcelUtils implements IExcelUtils {
         }
     }
 
-    public static List<Map<String, String>> getTestDataAsList(String filePath, 
-            String sheetName) {
-        List<Map<String, String>> testDataList = new ArrayList<>();
-
-        try (FileInputStream fis = new FileInputStream(filePath);
-             Workbook workbook = new XSSFWorkbook(fis)) {
-
-            Sheet sheet = workbook.getSheet(sheetName);
-            int rowCount = sheet.getLastRowNum();
-            int colCount = sheet.getRow(0).getLastCellNum();
-
-            // Get header row for column names
-            Row headerRow = sheet.getRow(0);
-            List<String> headers = new ArrayList<>();
-            for (int i = 0; i < colCount; i++) {
-                headers.add(headerRow.getCell(i).getStringCellValue());
+    /**
+     * Streams test data from an .xlsx sheet without loading the workbook:
+     * rows are read from the file as TestNG asks for them, so the first test
+     * starts immediately and memory stays flat for large sheets.
+     * @param filePath the path to the Excel file
+     * @param sheetName the sheet name
+     * @return test data rows, each as a one-element Object[] holding the row map
+     */
+    @Override
+    public Iterator<Object[]> getTestDataIterator(String filePath, String sheetName) {
+        ExcelRowIterator rows = new ExcelRowIterator(filePath, sheetName);
+        return new Iterator<Object[]>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
             }
 
-            // Iterate through data rows
-            for (int i = 1; i <= rowCount; i++) {
-                Row dataRow = sheet.getRow(i);
-                Map<String, String> dataMap = new HashMap<>();
-
-                for (int j = 0; j < colCount; j++) {
-                    String header = headers.get(j);
-                    String value = getCellValueAsString(dataRow.getCell(j));
-                    dataMap.put(header, value);
-                }
-
-                testDataList.add(dataMap);
+            @Override
+            public Object[] next() {
+                return new Object[] {rows.next()};
             }
+        };
+    }
 
-            logger.info("Test data loaded as list from Excel: {} rows", 
-                    testDataList.size());
-            return testDataList;
+    /**
+     * Reads test data as a list of row maps. Sheets are parsed once per JVM
+     * and shared through {@link ExcelDataCache}; the rows are read-only
+     * {@link DataRow}s.
+     * @param filePath the path to the Excel file
+     * @param sheetName the sheet name
+     * @return one map of header to value per data row
+     */
+    public static List<Map<String, String>> getTestDataAsList(String filePath, 
+            String sheetName) {
+        return new ArrayList<>(ExcelDataCache.get(filePath, sheetName).getRows());
+    }
 
-        } catch (IOException e) {
-            logger.error("Failed to load test data as list from Excel file: {}", 
-                    filePath, e);
-            throw new RuntimeException("Failed to load test data as list from Excel file", e);
+    /**
+     * Reads one shard of the test data through {@link ExcelDataCache}; a range
+     * shard loaded from a snapshot reads only its own rows.
+     * @param filePath the path to the Excel file
+     * @param sheetName the sheet name
+     * @param shard the rows to read
+     * @return the rows of the shard as Object[][]
+     */
+    @Override
+    public Object[][] getTestData(String filePath, String sheetName, DataShard shard) {
+        List<DataRow> rows = ExcelDataCache.get(filePath, sheetName, shard).getRows();
+        Object[][] data = new Object[rows.size()][1];
+        for (int i = 0; i < data.length; i++) {
+            data[i][0] = rows.get(i);
         }
+        if (!shard.isAll()) {
+            logger.info("Test data shard {} of {} [{}]: {} rows", shard, filePath,
+                    sheetName, data.length);
+        }
+        return data;
     }
 
+    /**
+     * Provides test data for a TestNG data provider. Sheets are parsed once
+     * per JVM and shared through {@link ExcelDataCache}, so repeated data
+     * providers over the same sheet do not reopen the workbook. When
+     * shard.count is set, only this fork's shard is provided (see
+     * {@link DataShard#current()}).
+     * @param filePath the path to the Excel file
+     * @param sheetName the sheet name
+     * @return test data rows, each as a one-element Object[] holding a shared,
+     *         read-only row map
+     */
     public static Object[][] provideData(String filePath, String sheetName) {
-        return new ExcelUtils().getTestData(filePath, sheetName);
+        return new ExcelUtils().getTestData(filePath, sheetName, DataShard.current());
+    }
+
+    /**
+     * Provides test data for a TestNG data provider one row at a time. When
+     * shard.count is set, only this fork's shard is provided; range shards
+     * need the row count up front and are read through the cache instead.
+     * @param filePath the path to the Excel file
+     * @param sheetName the sheet name
+     * @return test data rows, each as a one-element Object[] holding the row map
+     */
+    public static Iterator<Object[]> provideDataLazily(String filePath, String sheetName) {
+        return new ExcelUtils().getTestDataIterator(filePath, sheetName, DataShard.current());
     }
 
     private static String getCellValueAsString(Cell cell) {
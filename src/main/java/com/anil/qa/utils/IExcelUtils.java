@@ -1,14 +1,19 @@
 package com.anil.qa.utils;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
- * IExcelUtils defines contract for Excel data utilities.
+ * IExcelUtils defines contract for Excel data utilities: the
+ * {@link TestDataSource} for .xlsx workbooks.
  */
-public interface IExcelUtils {
+public interface IExcelUtils extends TestDataSource {
     /**
-     * Reads test data from an Excel file.
-     * @param filePath the path to the Excel file
-     * @param sheetName the sheet name
-     * @return test data as Object[][]
+     * Gets the file extensions this source reads.
+     * @return "xlsx"
      */
-    Object[][] getTestData(String filePath, String sheetName);
+    @Override
+    default List<String> getExtensions() {
+        return Collections.singletonList("xlsx");
+    }
 }
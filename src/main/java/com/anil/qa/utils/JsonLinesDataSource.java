@@ -0,0 +1,258 @@
+package com.anil.qa.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JsonLinesDataSource reads JSON Lines files (.jsonl, .ndjson): one JSON
+ * object per line, each becoming a row keyed by its top-level fields. The file
+ * is memory-mapped; each line is copied into a reusable buffer and read with
+ * Jackson's streaming parser, so no tree or line String is built.
+ * <p>
+ * Scalars become their JSON text (strings unquoted, null as ""), nested
+ * objects and arrays their compact JSON. Columns are the union of the fields,
+ * in order of first appearance, and a field missing from a line reads as "".
+ * Blank lines are skipped.
+ * <p>
+ * {@link #getTestData} reads the whole file, so every row has every column,
+ * as with Excel and CSV. {@link #getTestDataIterator} cannot see ahead: its
+ * rows have the columns seen up to and including their own line, so a field
+ * that first appears on a later line is absent (get returns null) from the
+ * rows before it.
+ */
+public final class JsonLinesDataSource implements TestDataSource {
+    /** Logger instance. */
+    private static final Logger LOGGER = LogManager.getLogger(JsonLinesDataSource.class);
+    /** Mapper used for parsers and nested values. */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public List<String> getExtensions() {
+        return Collections.unmodifiableList(Arrays.asList("jsonl", "ndjson"));
+    }
+
+    @Override
+    public Object[][] getTestData(final String filePath, final String sheetName) {
+        List<DataRow> rows = new ArrayList<>();
+        DataSchema schema;
+        try (RowIterator iterator = new RowIterator(filePath)) {
+            iterator.forEachRemaining(rows::add);
+            schema = iterator.schema;
+        }
+        Object[][] data = new Object[rows.size()][];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = new Object[] {widen(rows.get(i), schema)};
+        }
+        LOGGER.info("Test data loaded from {}: {} rows, {} columns", filePath, data.length,
+                schema.width());
+        return data;
+    }
+
+    @Override
+    public Iterator<Object[]> getTestDataIterator(final String filePath, final String sheetName) {
+        RowIterator rows = new RowIterator(filePath);
+        return new Iterator<Object[]>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                return new Object[] {rows.next()};
+            }
+        };
+    }
+
+    /**
+     * Pads a row read before later columns appeared to the final schema.
+     * Columns are only ever appended, so existing positions are unchanged.
+     */
+    private static DataRow widen(final DataRow row, final DataSchema schema) {
+        DataSchema own = row.getSchema();
+        if (own == schema) {
+            return row;
+        }
+        String[] values = new String[schema.width()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i < own.width() ? row.get(i) : "";
+        }
+        return schema.row(values);
+    }
+
+    /**
+     * Reads the lines of one file; closes it after the last line.
+     */
+    private static final class RowIterator implements Iterator<DataRow>, Closeable {
+        /** The mapped file. */
+        private final MappedFileReader in;
+        /** The file path, for messages. */
+        private final String source;
+        /** Column per field name, in order of first appearance. */
+        private final Map<String, Integer> columns = new LinkedHashMap<>();
+        /** De-duplicates values and field names across rows. */
+        private final ValuePool pool = new ValuePool();
+        /** Schema for the columns seen so far. */
+        private DataSchema schema = DataSchema.of(Collections.emptyList());
+        /** Whether columns were added since {@link #schema} was built. */
+        private boolean widened;
+        /** Bytes of the line being read. */
+        private byte[] line = new byte[1024];
+        /** Number of bytes in {@link #line}. */
+        private int length;
+        /** 1-based number of the line being read. */
+        private long lineNumber;
+        /** Next row, or null at the end of the file. */
+        private DataRow pending;
+        /** Whether the file has been closed. */
+        private boolean closed;
+
+        RowIterator(final String filePath) {
+            this.source = filePath;
+            try {
+                this.in = new MappedFileReader(Paths.get(filePath));
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to open test data file: " + filePath, e);
+            }
+            try {
+                this.pending = readRow();
+            } catch (final IOException | RuntimeException e) {
+                close();
+                throw new RuntimeException("Failed to read test data file: " + filePath, e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pending == null) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public DataRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            DataRow row = pending;
+            try {
+                pending = readRow();
+            } catch (final IOException | RuntimeException e) {
+                close();
+                throw new RuntimeException("Failed to read test data file: " + source
+                        + " at line " + lineNumber, e);
+            }
+            return row;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                in.close();
+            } catch (final IOException e) {
+                LOGGER.warn("Failed to close test data file: {}", source, e);
+            }
+        }
+
+        private DataRow readRow() throws IOException {
+            if (!readLine()) {
+                return null;
+            }
+            Map<Integer, String> values = new LinkedHashMap<>();
+            try (JsonParser parser = MAPPER.getFactory().createParser(line, 0, length)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("Line " + lineNumber
+                            + " is not a JSON object");
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    JsonToken token = parser.nextToken();
+                    values.put(column(name), pool.get(value(parser, token)));
+                }
+            }
+            if (widened) {
+                // One schema per line that adds columns, not per new field
+                schema = DataSchema.of(new ArrayList<>(columns.keySet()));
+                widened = false;
+            }
+            String[] cells = new String[columns.size()];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = values.getOrDefault(i, "");
+            }
+            return schema.row(cells);
+        }
+
+        private int column(final String name) {
+            Integer column = columns.get(name);
+            if (column == null) {
+                column = columns.size();
+                columns.put(pool.get(name), column);
+                widened = true;
+            }
+            return column;
+        }
+
+        private static String value(final JsonParser parser, final JsonToken token)
+                throws IOException {
+            switch (token) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    return MAPPER.writeValueAsString(MAPPER.readTree(parser));
+                case VALUE_NULL:
+                    return "";
+                default:
+                    return parser.getText();
+            }
+        }
+
+        /**
+         * Reads the next non-blank line into {@link #line}.
+         * @return false at the end of the file
+         */
+        private boolean readLine() throws IOException {
+            while (true) {
+                length = 0;
+                int c = in.read();
+                if (c < 0) {
+                    return false;
+                }
+                lineNumber++;
+                boolean blank = true;
+                while (c >= 0 && c != '\n') {
+                    if (length == line.length) {
+                        line = Arrays.copyOf(line, length * 2);
+                    }
+                    line[length++] = (byte) c;
+                    blank &= c == ' ' || c == '\t' || c == '\r';
+                    c = in.read();
+                }
+                if (!blank) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.anil.qa.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram records latencies in log-linear microsecond buckets with
+ * roughly 3% precision, so percentiles can be read without keeping every
+ * sample. Recording is lock-free and safe from any number of threads.
+ */
+public final class LatencyHistogram {
+    /** Sub-buckets per power of two, as a power of two. */
+    private static final int SUB_BUCKET_BITS = 6;
+    /** Number of linear buckets below the first doubling. */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /** Number of buckets per doubling above the linear range. */
+    private static final int HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    /** Largest recordable value in microseconds (about 19 hours). */
+    private static final long MAX_MICROS = (1L << 36) - 1;
+    /** Total number of buckets. */
+    private static final int BUCKET_COUNT = indexOf(MAX_MICROS) + 1;
+
+    /** Sample count per bucket. */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    /** Number of samples. */
+    private final AtomicLong totalCount = new AtomicLong();
+    /** Sum of all samples in microseconds. */
+    private final AtomicLong totalMicros = new AtomicLong();
+    /** Smallest sample in microseconds. */
+    private final AtomicLong minMicros = new AtomicLong(Long.MAX_VALUE);
+    /** Largest sample in microseconds. */
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Records a latency.
+     * @param nanos the latency in nanoseconds
+     */
+    public void recordNanos(final long nanos) {
+        long micros = Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 0), MAX_MICROS);
+        counts.incrementAndGet(indexOf(micros));
+        totalCount.incrementAndGet();
+        totalMicros.addAndGet(micros);
+        minMicros.accumulateAndGet(micros, Math::min);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Adds all samples of another histogram to this one.
+     * @param other the histogram to merge
+     */
+    public void merge(final LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        totalMicros.addAndGet(other.totalMicros.get());
+        minMicros.accumulateAndGet(other.minMicros.get(), Math::min);
+        maxMicros.accumulateAndGet(other.maxMicros.get(), Math::max);
+    }
+
+    /**
+     * Gets the number of samples.
+     * @return the sample count
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Gets the mean latency.
+     * @return the mean in milliseconds
+     */
+    public double getMeanMillis() {
+        long count = getCount();
+        return count == 0 ? 0 : totalMicros.get() / 1000.0 / count;
+    }
+
+    /**
+     * Gets the smallest latency.
+     * @return the minimum in milliseconds
+     */
+    public double getMinMillis() {
+        return getCount() == 0 ? 0 : minMicros.get() / 1000.0;
+    }
+
+    /**
+     * Gets the largest latency.
+     * @return the maximum in milliseconds
+     */
+    public double getMaxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    /**
+     * Gets the latency at a percentile, as the upper bound of the bucket that
+     * holds it.
+     * @param percentile the percentile, e.g. 99.9
+     * @return the latency in milliseconds
+     */
+    public double getPercentileMillis(final double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(upperBoundOf(i), maxMicros.get()) / 1000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Formats count, mean, percentiles and max on one line.
+     * @return the summary
+     */
+    public String summary() {
+        return String.format("count=%d, mean=%.1fms, p50=%.1fms, p90=%.1fms, p99=%.1fms, "
+                + "p99.9=%.1fms, max=%.1fms", getCount(), getMeanMillis(),
+                getPercentileMillis(50), getPercentileMillis(90), getPercentileMillis(99),
+                getPercentileMillis(99.9), getMaxMillis());
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+
+    private static int indexOf(final long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) micros;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(micros);
+        int shift = msb - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKET_COUNT + (shift - 1) * HALF_COUNT
+                + (int) ((micros >>> shift) - HALF_COUNT);
+    }
+
+    private static long upperBoundOf(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / HALF_COUNT + 1;
+        long subBucket = offset % HALF_COUNT + HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,96 @@
+package com.anil.qa.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * MappedFileReader reads a file byte by byte through memory-mapped windows,
+ * so text data files are parsed straight from the page cache without copying
+ * them through stream buffers. Files larger than one window are mapped one
+ * window at a time.
+ */
+final class MappedFileReader implements Closeable {
+    /** Size of each mapped window. */
+    private static final long WINDOW = 1L << 28;
+
+    /** The open file. */
+    private final FileChannel channel;
+    /** File size in bytes. */
+    private final long size;
+    /** The mapped window. */
+    private MappedByteBuffer buffer;
+    /** File offset of the window. */
+    private long windowStart;
+
+    /**
+     * Opens and maps a file.
+     * @param file the file
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    MappedFileReader(final Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            this.size = channel.size();
+            map(0);
+        } catch (final IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the next byte.
+     * @return the byte as 0-255, or -1 at the end of the file
+     * @throws IOException if the next window cannot be mapped
+     */
+    int read() throws IOException {
+        if (!buffer.hasRemaining() && !nextWindow()) {
+            return -1;
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    /**
+     * Gets the next byte without consuming it.
+     * @return the byte as 0-255, or -1 at the end of the file
+     * @throws IOException if the next window cannot be mapped
+     */
+    int peek() throws IOException {
+        if (!buffer.hasRemaining() && !nextWindow()) {
+            return -1;
+        }
+        return buffer.get(buffer.position()) & 0xFF;
+    }
+
+    /**
+     * Gets the number of bytes read so far.
+     * @return the file offset of the next byte
+     */
+    long position() {
+        return windowStart + buffer.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean nextWindow() throws IOException {
+        long next = windowStart + buffer.limit();
+        if (next >= size) {
+            return false;
+        }
+        map(next);
+        return true;
+    }
+
+    private void map(final long offset) throws IOException {
+        windowStart = offset;
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                Math.min(WINDOW, size - offset));
+    }
+}
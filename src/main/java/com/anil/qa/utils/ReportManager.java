@@ -4,6 +4,14 @@ import java.io.File;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -18,11 +26,28 @@ import com.aventstack.extentreports.reporter.configuration.Theme;
 /**
  * ReportManager handles ExtentReports initialization, logging, and screenshot 
  * attachment.
+ * <p>
+ * Report calls do not touch ExtentReports on the calling thread. They are
+ * queued on a lock-free queue and applied in order by a single writer thread
+ * that owns the report, so parallel tests neither contend on Extent's shared
+ * structures nor wait for it. The queue is bounded by report.queue.capacity;
+ * when full, report.queue.policy=block makes callers wait and drop discards
+ * log entries (tests are always created). {@link #flushReports()} waits until
+ * everything queued before it has been written. With report.async.enabled=false
+ * calls are applied on the calling thread, as before.
  */
 public class ReportManager {
     private static final Logger logger = LogManager.getLogger(ReportManager.class);
     private static ExtentReports extentReports;
-    private static ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>();
+    private static ThreadLocal<TestHandle> extentTest = new ThreadLocal<>();
+
+    // Report events waiting for the writer thread
+    private static final Queue<Runnable> events = new ConcurrentLinkedQueue<>();
+    private static final AtomicLong dropped = new AtomicLong();
+    private static volatile Semaphore capacity;
+    private static volatile boolean dropWhenFull;
+    private static volatile Thread writer;
+    private static volatile boolean writerWaiting;
 
     private ReportManager() {
         // Private constructor to prevent instantiation
@@ -31,7 +56,7 @@ public class ReportManager {
     /**
      * Initializes ExtentReports and configures the report output.
      */
-    public static void initReports() {
+    public static synchronized void initReports() {
         if (extentReports == null) {
             String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss")
                     .format(new Date());
@@ -60,6 +85,10 @@ public class ReportManager {
             extentReports.setSystemInfo("Environment", 
                     ConfigManager.getProperty("env", "QA"));
 
+            if (Boolean.parseBoolean(ConfigManager.getProperty("report.async.enabled", "true"))) {
+                startWriter();
+            }
+
             logger.info("ExtentReports initialized: {}", reportPath);
         }
     }
@@ -69,8 +98,9 @@ public class ReportManager {
      * @param testName the name of the test
      */
     public static void createTest(String testName) {
-        ExtentTest test = extentReports.createTest(testName);
-        extentTest.set(test);
+        TestHandle handle = new TestHandle();
+        extentTest.set(handle);
+        submit(() -> handle.test = extentReports.createTest(testName), false);
         logger.info("Created test in ExtentReports: {}", testName);
     }
 
@@ -79,7 +109,7 @@ public class ReportManager {
      * @param message the message to log
      */
     public static void logInfo(String message) {
-        getTest().log(Status.INFO, message);
+        log(test -> test.log(Status.INFO, message));
     }
 
     /**
@@ -87,7 +117,7 @@ public class ReportManager {
      * @param message the message to log
      */
     public static void logSuccess(String message) {
-        getTest().log(Status.PASS, message);
+        log(test -> test.log(Status.PASS, message));
     }
 
     /**
@@ -95,7 +125,7 @@ public class ReportManager {
      * @param message the message to log
      */
     public static void logFailure(String message) {
-        getTest().log(Status.FAIL, message);
+        log(test -> test.log(Status.FAIL, message));
     }
 
     /**
@@ -103,31 +133,238 @@ public class ReportManager {
      * @param message the message to log
      */
     public static void logWarning(String message) {
-        getTest().log(Status.WARNING, message);
+        log(test -> test.log(Status.WARNING, message));
+    }
+
+    /**
+     * Logs preformatted text to the report, escaping any markup.
+     * @param text the text to log
+     */
+    public static void logPreformatted(String text) {
+        String html = "<pre>" + text.replace("&", "&amp;")
+                .replace("<", "&lt;").replace(">", "&gt;") + "</pre>";
+        log(test -> test.log(Status.INFO, html));
+    }
+
+    /**
+     * Checks whether a report test is active on the current thread.
+     * @return true if log methods can be called
+     */
+    public static boolean isTestActive() {
+        return extentTest.get() != null;
     }
 
     /**
-     * Attaches a screenshot to the report.
+     * Attaches a screenshot to the report. The file is read by the writer
+     * thread, so it must not be deleted after this call.
      * @param screenshotPath the path to the screenshot
      * @throws IOException if the file cannot be read
      */
     public static void attachScreenshot(String screenshotPath) throws IOException {
-        getTest().fail("Screenshot of failure", 
+        if (!new File(screenshotPath).isFile()) {
+            throw new IOException("Screenshot not found: " + screenshotPath);
+        }
+        log(test -> test.fail("Screenshot of failure", 
                 MediaEntityBuilder.createScreenCaptureFromPath(screenshotPath)
-                        .build());
+                        .build()));
     }
 
     /**
-     * Flushes the report output to disk.
+     * Flushes the report output to disk, after every report call made before
+     * it has been applied.
      */
     public static void flushReports() {
-        if (extentReports != null) {
-            extentReports.flush();
-            logger.info("ExtentReports flushed successfully");
+        if (extentReports == null) {
+            return;
+        }
+        CountDownLatch flushed = new CountDownLatch(1);
+        submit(() -> {
+            try {
+                extentReports.flush();
+            } finally {
+                flushed.countDown();
+            }
+        }, false);
+        long timeout = Long.parseLong(ConfigManager.getProperty(
+                "report.flush.timeout.seconds", "60"));
+        try {
+            if (!flushed.await(timeout, TimeUnit.SECONDS)) {
+                logger.warn("ExtentReports not flushed within {}s; {} events pending",
+                        timeout, events.size());
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while flushing ExtentReports");
+            return;
+        }
+        long lost = dropped.get();
+        if (lost > 0) {
+            logger.warn("{} report entries dropped because the report queue was full", lost);
+        }
+        logger.info("ExtentReports flushed successfully");
+    }
+
+    /**
+     * Gets the report test of the current thread once its createTest event
+     * has been applied, for example after {@link #flushReports()}.
+     * @return the test, or null if none has been written yet
+     */
+    static ExtentTest currentTest() {
+        TestHandle handle = extentTest.get();
+        return handle == null ? null : handle.test;
+    }
+
+    /**
+     * Gets the number of log entries dropped because the queue was full.
+     * @return the dropped entry count
+     */
+    static long droppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Checks whether the writer thread is idle, waiting for events.
+     * @return true while the writer is parked
+     */
+    static boolean isWriterWaiting() {
+        return writerWaiting;
+    }
+
+    private static void log(Consumer<ExtentTest> action) {
+        TestHandle handle = extentTest.get();
+        if (handle == null) {
+            throw new IllegalStateException("No report test on this thread; call createTest first");
+        }
+        submit(() -> action.accept(handle.test), dropWhenFull);
+    }
+
+    /**
+     * Applies a report event on the writer thread, or on the calling thread
+     * when there is none.
+     * @param event the event to apply
+     * @param droppable whether the event may be dropped when the queue is full
+     */
+    static void submit(Runnable event, boolean droppable) {
+        Thread thread = writer;
+        if (thread == null || !thread.isAlive()) {
+            writeOnCaller(event);
+            return;
+        }
+        if (droppable) {
+            if (!capacity.tryAcquire()) {
+                if (dropped.getAndIncrement() == 0) {
+                    logger.warn("Report queue full; dropping log entries");
+                }
+                return;
+            }
+        } else {
+            // Wait in slices so a writer that died meanwhile cannot strand the caller
+            while (!tryAcquire(100)) {
+                if (!thread.isAlive()) {
+                    writeOnCaller(event);
+                    return;
+                }
+            }
+        }
+        events.offer(event);
+        if (writerWaiting) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private static boolean tryAcquire(long millis) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return capacity.tryAcquire(millis, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
-    private static ExtentTest getTest() {
-        return extentTest.get();
+    /**
+     * Applies an event on the calling thread when there is no live writer.
+     * Events still queued for a dead writer are applied first, in order.
+     */
+    private static synchronized void writeOnCaller(Runnable event) {
+        Runnable queued;
+        while (writer != null && !writer.isAlive() && (queued = events.poll()) != null) {
+            queued.run();
+        }
+        event.run();
+    }
+
+    /**
+     * Starts a writer thread with the configured queue capacity and policy.
+     */
+    static void startWriter() {
+        int size = Integer.parseInt(ConfigManager.getProperty("report.queue.capacity", "10000"));
+        String policy = ConfigManager.getProperty("report.queue.policy", "block").trim();
+        if (!"block".equalsIgnoreCase(policy) && !"drop".equalsIgnoreCase(policy)) {
+            throw new IllegalArgumentException("report.queue.policy must be block or drop: "
+                    + policy);
+        }
+        capacity = new Semaphore(size);
+        dropWhenFull = "drop".equalsIgnoreCase(policy);
+        Thread thread = new Thread(ReportManager::drain, "report-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    /**
+     * Stops the writer thread and waits for it to end. Events still queued
+     * are applied by the next caller, as when the writer dies.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    static void stopWriter() throws InterruptedException {
+        Thread thread = writer;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join();
+        }
+    }
+
+    /**
+     * Runs on the writer thread: applies events in order as they arrive,
+     * until the thread is interrupted.
+     */
+    private static void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Runnable event = events.poll();
+            if (event == null) {
+                writerWaiting = true;
+                // Re-check after publishing the flag so no wake-up is missed
+                if (events.isEmpty()) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+                }
+                writerWaiting = false;
+                continue;
+            }
+            try {
+                event.run();
+            } catch (Throwable e) {
+                // The writer must survive any event; a dead writer would strand callers
+                logger.error("Failed to write report event", e);
+            } finally {
+                capacity.release();
+            }
+        }
+    }
+
+    /**
+     * A test created on the writer thread; set before any of its log events
+     * run, since events are applied in order.
+     */
+    private static final class TestHandle {
+        private volatile ExtentTest test;
     }
 }
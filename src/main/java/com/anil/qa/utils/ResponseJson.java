@@ -0,0 +1,155 @@
+package com.anil.qa.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+
+/**
+ * ResponseJson caches the parsed JSON body of each Response and evaluates
+ * compiled path expressions against it, so extracting many fields parses the
+ * body once instead of once per field.
+ * <p>
+ * Paths in the common subset of RestAssured's GPath syntax (dotted field
+ * names and [n] indices, negative counting from the end) are compiled once and
+ * walked over a Jackson tree. Anything else, and any path that selects a
+ * container, spreads over an array or ends at a fractional number, falls back
+ * to the response's cached {@link JsonPath}, so results always match
+ * {@code response.jsonPath().getString(path)}.
+ */
+final class ResponseJson {
+    /** Shared mapper; thread-safe once configured. */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    /** A name segment with optional indices, e.g. items[0][-1]. */
+    private static final Pattern SEGMENT = Pattern.compile(
+            "(\\w*)((?:\\[-?\\d+\\])*)");
+    /** One index within a segment. */
+    private static final Pattern INDEX = Pattern.compile("\\[(-?\\d+)\\]");
+    /** Compiled paths, keyed by expression; unsupported paths map to UNSUPPORTED. */
+    private static final Map<String, List<Object>> COMPILED = new ConcurrentHashMap<>();
+    /** Marker for paths that need GPath. */
+    private static final List<Object> UNSUPPORTED = Collections.emptyList();
+    /** Parsed bodies per response. */
+    private static final Map<Response, ResponseJson> DOCUMENTS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    /** The parsed body, or null if it is not JSON. */
+    private final JsonNode tree;
+    /** GPath view of the body, created on first fallback. */
+    private JsonPath jsonPath;
+
+    private ResponseJson(final Response source) {
+        JsonNode parsed;
+        try {
+            parsed = MAPPER.readTree(source.asByteArray());
+        } catch (final IOException e) {
+            parsed = null;
+        }
+        this.tree = parsed == null || parsed.isMissingNode() ? null : parsed;
+    }
+
+    /**
+     * Gets the cached document of a response, parsing its body on first use.
+     * @param response the response
+     * @return the document
+     */
+    static ResponseJson of(final Response response) {
+        ResponseJson document = DOCUMENTS.get(response);
+        if (document != null) {
+            return document;
+        }
+        // Parse outside the map's lock so parallel tests do not queue behind
+        // one large body; a racing parse of the same response is discarded
+        ResponseJson parsed = new ResponseJson(response);
+        document = DOCUMENTS.putIfAbsent(response, parsed);
+        return document == null ? parsed : document;
+    }
+
+    /**
+     * Gets the parsed body.
+     * @return the Jackson tree, or null if the body is not JSON
+     */
+    JsonNode tree() {
+        return tree;
+    }
+
+    /**
+     * Evaluates a path as a string, like {@code JsonPath.getString}.
+     * @param response the response this document was parsed from
+     * @param path the path expression
+     * @return the value, or null if the path selects nothing
+     */
+    String getString(final Response response, final String path) {
+        List<Object> steps = COMPILED.computeIfAbsent(path, ResponseJson::compile);
+        if (tree == null || steps == UNSUPPORTED) {
+            return gpath(response).getString(path);
+        }
+        JsonNode node = tree;
+        for (Object step : steps) {
+            if (step instanceof String) {
+                if (node.isArray()) {
+                    return gpath(response).getString(path);
+                }
+                node = node.isObject() ? node.get((String) step) : null;
+            } else {
+                if (!node.isArray()) {
+                    return gpath(response).getString(path);
+                }
+                int index = (Integer) step;
+                node = node.get(index < 0 ? node.size() + index : index);
+            }
+            if (node == null || node.isNull()) {
+                return null;
+            }
+        }
+        if (node.isContainerNode() || node.isFloatingPointNumber()) {
+            return gpath(response).getString(path);
+        }
+        return node.asText();
+    }
+
+    private synchronized JsonPath gpath(final Response response) {
+        if (jsonPath == null) {
+            jsonPath = response.jsonPath();
+        }
+        return jsonPath;
+    }
+
+    /**
+     * Compiles a path into field-name and index steps.
+     * @param path the path expression
+     * @return the steps, or UNSUPPORTED if the path needs GPath
+     */
+    private static List<Object> compile(final String path) {
+        if (path.isEmpty()) {
+            return UNSUPPORTED;
+        }
+        List<Object> steps = new ArrayList<>();
+        for (String segment : path.split("\\.", -1)) {
+            Matcher matcher = SEGMENT.matcher(segment);
+            if (!matcher.matches() || (matcher.group(1).isEmpty()
+                    && (matcher.group(2).isEmpty() || !steps.isEmpty()))) {
+                return UNSUPPORTED;
+            }
+            if (!matcher.group(1).isEmpty()) {
+                steps.add(matcher.group(1));
+            }
+            Matcher index = INDEX.matcher(matcher.group(2));
+            while (index.find()) {
+                steps.add(Integer.valueOf(index.group(1)));
+            }
+        }
+        return Collections.unmodifiableList(steps);
+    }
+}
@@ -0,0 +1,113 @@
+package com.anil.qa.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * TestDataSource defines the contract for reading test data files into rows
+ * for TestNG data providers. Each row is a one-element Object[] holding a
+ * read-only {@link DataRow} of header to value.
+ * <p>
+ * Implementations are chosen by file extension through {@link TestDataSources}.
+ * Additional formats can be plugged in with a public no-argument
+ * implementation listed in META-INF/services/com.anil.qa.utils.TestDataSource.
+ */
+public interface TestDataSource {
+    /**
+     * Gets the file extensions this source reads.
+     * @return lower-case extensions without the dot, e.g. "csv"
+     */
+    List<String> getExtensions();
+
+    /**
+     * Reads test data from a file.
+     * @param filePath the path to the file
+     * @param sheetName the sheet name; ignored by single-table formats
+     * @return test data as Object[][]
+     */
+    Object[][] getTestData(String filePath, String sheetName);
+
+    /**
+     * Reads test data from a file one row at a time, for TestNG data
+     * providers returning {@code Iterator<Object[]>}.
+     * @param filePath the path to the file
+     * @param sheetName the sheet name; ignored by single-table formats
+     * @return test data rows, each as a one-element Object[]
+     */
+    default Iterator<Object[]> getTestDataIterator(String filePath, String sheetName) {
+        return Arrays.asList(getTestData(filePath, sheetName)).iterator();
+    }
+
+    /**
+     * Reads one shard of the test data in a file, for splitting a data set
+     * across JVM forks.
+     * @param filePath the path to the file
+     * @param sheetName the sheet name; ignored by single-table formats
+     * @param shard the rows to read
+     * @return the rows of the shard as Object[][]
+     */
+    default Object[][] getTestData(String filePath, String sheetName, DataShard shard) {
+        Object[][] data = getTestData(filePath, sheetName);
+        if (shard.isAll()) {
+            return data;
+        }
+        List<DataRow> rows = new ArrayList<>();
+        for (Object[] row : data) {
+            rows.add((DataRow) row[0]);
+        }
+        return shard.select(rows).stream()
+                .map(row -> new Object[] {row})
+                .toArray(Object[][]::new);
+    }
+
+    /**
+     * Reads one shard of the test data in a file one row at a time. Modulo
+     * and hash shards filter the rows as they are read; range shards need the
+     * row count up front and are read with
+     * {@link #getTestData(String, String, DataShard)} instead.
+     * @param filePath the path to the file
+     * @param sheetName the sheet name; ignored by single-table formats
+     * @param shard the rows to read
+     * @return the rows of the shard, each as a one-element Object[]
+     */
+    default Iterator<Object[]> getTestDataIterator(String filePath, String sheetName,
+            DataShard shard) {
+        if (shard.isAll()) {
+            return getTestDataIterator(filePath, sheetName);
+        }
+        if (shard.getMode() == DataShard.Mode.RANGE) {
+            return Arrays.asList(getTestData(filePath, sheetName, shard)).iterator();
+        }
+        Iterator<Object[]> rows = getTestDataIterator(filePath, sheetName);
+        return new Iterator<Object[]>() {
+            /** Index of the next row read from the file. */
+            private int index;
+            /** Next row of the shard, or null if not yet found. */
+            private Object[] next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && rows.hasNext()) {
+                    Object[] row = rows.next();
+                    if (shard.accepts(index++, (DataRow) row[0])) {
+                        next = row;
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Object[] row = next;
+                next = null;
+                return row;
+            }
+        };
+    }
+}
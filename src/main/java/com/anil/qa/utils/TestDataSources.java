@@ -0,0 +1,101 @@
+package com.anil.qa.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * TestDataSources picks the {@link TestDataSource} for a test data file by its
+ * extension and provides its rows to TestNG data providers, so a data set can
+ * move from .xlsx to .csv or .jsonl without touching the tests.
+ * <p>
+ * Built in: xlsx ({@link ExcelUtils}), csv and tsv ({@link CsvDataSource}),
+ * jsonl and ndjson ({@link JsonLinesDataSource}). Sources registered through
+ * {@link ServiceLoader} are added, and replace a built-in source for the same
+ * extension. Rows are sharded like {@link ExcelUtils#provideData} when
+ * shard.count is set.
+ */
+public final class TestDataSources {
+    /** Logger instance. */
+    private static final Logger LOGGER = LogManager.getLogger(TestDataSources.class);
+    /** Sources by lower-case extension. */
+    private static final Map<String, TestDataSource> SOURCES = load();
+
+    private TestDataSources() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Gets the source for a file.
+     * @param filePath the path to the file
+     * @return the source registered for the file's extension
+     * @throws IllegalArgumentException if no source reads the extension
+     */
+    public static TestDataSource forPath(final String filePath) {
+        int dot = filePath.lastIndexOf('.');
+        String extension = dot < 0 ? "" : filePath.substring(dot + 1).toLowerCase(Locale.ROOT);
+        TestDataSource source = SOURCES.get(extension);
+        if (source == null) {
+            throw new IllegalArgumentException("No test data source for '" + extension
+                    + "' files; supported: " + SOURCES.keySet());
+        }
+        return source;
+    }
+
+    /**
+     * Provides test data for a TestNG data provider.
+     * @param filePath the path to the file
+     * @param sheetName the sheet name; ignored by single-table formats
+     * @return test data rows, each as a one-element Object[] holding a row map
+     */
+    public static Object[][] provideData(final String filePath, final String sheetName) {
+        return forPath(filePath).getTestData(filePath, sheetName, DataShard.current());
+    }
+
+    /**
+     * Provides test data for a TestNG data provider one row at a time.
+     * @param filePath the path to the file
+     * @param sheetName the sheet name; ignored by single-table formats
+     * @return test data rows, each as a one-element Object[] holding a row map
+     */
+    public static Iterator<Object[]> provideDataLazily(final String filePath,
+            final String sheetName) {
+        return forPath(filePath).getTestDataIterator(filePath, sheetName, DataShard.current());
+    }
+
+    /**
+     * Gets the registered extensions.
+     * @return the extensions, sorted
+     */
+    public static Iterable<String> getExtensions() {
+        return Collections.unmodifiableSet(SOURCES.keySet());
+    }
+
+    private static Map<String, TestDataSource> load() {
+        Map<String, TestDataSource> sources = new TreeMap<>();
+        for (TestDataSource source : Arrays.asList(new ExcelUtils(), new CsvDataSource(),
+                new CsvDataSource('\t', "tsv"), new JsonLinesDataSource())) {
+            register(sources, source);
+        }
+        for (TestDataSource source : ServiceLoader.load(TestDataSource.class)) {
+            LOGGER.info("Test data source {} registered for {}",
+                    source.getClass().getName(), source.getExtensions());
+            register(sources, source);
+        }
+        return sources;
+    }
+
+    private static void register(final Map<String, TestDataSource> sources,
+            final TestDataSource source) {
+        for (String extension : source.getExtensions()) {
+            sources.put(extension.toLowerCase(Locale.ROOT), source);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.anil.qa.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ValuePool de-duplicates the cell values of one sheet load, so that rows
+ * repeating a value (status codes, flags, environment names) share a single
+ * String instead of each holding a copy. Not thread-safe; use one per load.
+ */
+final class ValuePool {
+    /** Canonical instance per value. */
+    private final Map<String, String> values = new HashMap<>();
+
+    /**
+     * Gets the pooled instance of a value.
+     * @param value the value
+     * @return an equal String shared by every caller of this pool
+     */
+    String get(final String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String pooled = values.putIfAbsent(value, value);
+        return pooled == null ? value : pooled;
+    }
+
+    /**
+     * Gets the number of distinct values pooled.
+     * @return the count
+     */
+    int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,113 @@
+package com.anil.qa.tests;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.anil.qa.utils.ApiLoadGenerator;
+import com.anil.qa.utils.ApiLoadResult;
+import com.anil.qa.utils.ApiRequest;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs the API load generator against an in-process stub server.
+ */
+public class ApiLoadGeneratorTests {
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private String baseUrl;
+
+    @BeforeClass
+    public void startStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ok", exchange -> respond(exchange, 200, "{\"status\":\"ok\"}"));
+        server.createContext("/error", exchange -> respond(exchange, 500, "{\"status\":\"error\"}"));
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "{\"status\":\"slow\"}");
+        });
+        serverThreads = Executors.newFixedThreadPool(16);
+        server.setExecutor(serverThreads);
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStubServer() {
+        if (server != null) {
+            server.stop(0);
+            serverThreads.shutdownNow();
+        }
+    }
+
+    @Test
+    public void openModelSendsAtTargetRate() {
+        ApiLoadResult result = ApiLoadGenerator.openModel(
+                ApiRequest.get(baseUrl + "/ok"), 50, Duration.ofSeconds(1)).run();
+
+        Assert.assertEquals(result.getCount(), 50, "Open model should send rate x duration requests");
+        Assert.assertEquals(result.getSuccesses(), 50);
+        Assert.assertEquals(result.getErrors(), 0);
+        Assert.assertEquals(result.getHistogram().getCount(), 50);
+        Assert.assertEquals(result.getStatusCounts().get(200), Long.valueOf(50));
+    }
+
+    @Test
+    public void closedModelKeepsWorkersBusy() {
+        ApiLoadResult result = ApiLoadGenerator.closedModel(
+                ApiRequest.get(baseUrl + "/slow"), 4, Duration.ofSeconds(1)).run();
+
+        Assert.assertTrue(result.getCount() >= 4, "Every worker should complete a request");
+        Assert.assertTrue(result.getCount() <= 4 * (1000 / 50 + 1),
+                "Workers should not exceed one request per 50ms each");
+        Assert.assertEquals(result.getFailures() + result.getErrors(), 0);
+        Assert.assertTrue(result.getHistogram().getPercentileMillis(50) >= 50,
+                "Median latency should include the stub delay");
+        Assert.assertTrue(result.getThroughput() > 0);
+    }
+
+    @Test
+    public void unsuccessfulStatusesAreCountedAsFailures() {
+        ApiLoadResult result = ApiLoadGenerator.closedModel(
+                ApiRequest.get(baseUrl + "/error"), 2, Duration.ofMillis(300)).run();
+
+        Assert.assertTrue(result.getCount() > 0);
+        Assert.assertEquals(result.getFailures(), result.getCount());
+        Assert.assertEquals(result.getStatusCounts().get(500), Long.valueOf(result.getCount()));
+    }
+
+    @Test
+    public void connectionErrorsAreCountedAsErrors() {
+        ApiLoadResult result = ApiLoadGenerator.openModel(
+                ApiRequest.get("http://localhost:1/unreachable"), 10, Duration.ofMillis(500))
+                .run();
+
+        Assert.assertEquals(result.getCount(), 5);
+        Assert.assertEquals(result.getErrors(), 5);
+        Assert.assertFalse(result.getErrorCounts().isEmpty());
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String body)
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.anil.qa.tests;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.anil.qa.utils.CsvDataSource;
+import com.anil.qa.utils.DataShard;
+
+/**
+ * Checks that shards split a data set into disjoint, complete parts.
+ */
+public class DataShardTests {
+
+    @Test
+    public void rangeShardsCoverEveryRowOnce() {
+        int shardCount = 7;
+        for (int rowCount : new int[] {0, 1, 6, 7, 50_000, 50_003}) {
+            int expectedStart = 0;
+            for (int index = 0; index < shardCount; index++) {
+                DataShard shard = DataShard.of(index, shardCount, DataShard.Mode.RANGE, null);
+                Assert.assertEquals(shard.rangeStart(rowCount), expectedStart,
+                        "shard " + index + " of " + rowCount + " rows");
+                Assert.assertTrue(shard.rangeEnd(rowCount) - expectedStart <= rowCount / shardCount + 1);
+                expectedStart = shard.rangeEnd(rowCount);
+            }
+            Assert.assertEquals(expectedStart, rowCount);
+        }
+    }
+
+    @Test
+    public void moduloShardsTakeEveryNthRow() throws IOException {
+        Path file = writeUsers(10);
+
+        Assert.assertEquals(ids(file, DataShard.of(1, 3, DataShard.Mode.MODULO, null)),
+                List.of("1", "4", "7"));
+        assertPartition(file, DataShard.Mode.MODULO, null, 10);
+    }
+
+    @Test
+    public void hashShardsPartitionRowsByKey() throws IOException {
+        Path file = writeUsers(100);
+
+        assertPartition(file, DataShard.Mode.HASH, "id", 100);
+        assertPartition(file, DataShard.Mode.HASH, null, 100);
+        for (String id : ids(file, DataShard.of(2, 4, DataShard.Mode.HASH, "id"))) {
+            Assert.assertEquals(Math.floorMod(id.hashCode(), 4), 2, "id " + id);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = ".*'userId'.*\\[id, name\\].*")
+    public void rejectsHashKeyThatIsNotAColumn() throws IOException {
+        ids(writeUsers(3), DataShard.of(0, 2, DataShard.Mode.HASH, "userId"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsIndexOutsideCount() {
+        DataShard.of(3, 3, DataShard.Mode.MODULO, null);
+    }
+
+    private static void assertPartition(final Path file, final DataShard.Mode mode,
+            final String key, final int rowCount) {
+        List<String> all = new ArrayList<>();
+        for (int index = 0; index < 4; index++) {
+            all.addAll(ids(file, DataShard.of(index, 4, mode, key)));
+        }
+        Collections.sort(all, (a, b) -> Integer.parseInt(a) - Integer.parseInt(b));
+        Assert.assertEquals(all.size(), rowCount, "rows over all shards");
+        for (int i = 0; i < rowCount; i++) {
+            Assert.assertEquals(all.get(i), String.valueOf(i));
+        }
+    }
+
+    private static List<String> ids(final Path file, final DataShard shard) {
+        List<String> ids = new ArrayList<>();
+        for (Object[] row : new CsvDataSource().getTestData(file.toString(), null, shard)) {
+            ids.add(((Map<?, ?>) row[0]).get("id").toString());
+        }
+        return ids;
+    }
+
+    private static Path writeUsers(final int count) throws IOException {
+        StringBuilder csv = new StringBuilder("id,name\n");
+        for (int i = 0; i < count; i++) {
+            csv.append(i).append(",user").append(i).append('\n');
+        }
+        Path file = Files.createTempFile("shard-data", ".csv");
+        file.toFile().deleteOnExit();
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
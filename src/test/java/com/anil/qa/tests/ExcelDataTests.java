@@ -0,0 +1,219 @@
+package com.anil.qa.tests;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.anil.qa.utils.ConfigManager;
+import com.anil.qa.utils.DataRow;
+import com.anil.qa.utils.DataShard;
+import com.anil.qa.utils.ExcelUtils;
+import com.anil.qa.utils.TestDataSources;
+
+/**
+ * Reads small POI-written workbooks through the streaming reader and the
+ * snapshot cache and checks them against the workbook DOM.
+ */
+public class ExcelDataTests {
+    /** Offset of the workbook modification time in a snapshot header. */
+    private static final long MODIFIED_OFFSET = 16;
+
+    private String cacheEnabled;
+
+    @BeforeClass
+    public void readEverySheetFromDisk() {
+        // Without the in-memory cache every read goes through the snapshot
+        cacheEnabled = ConfigManager.getProperty("excel.cache.enabled", "true");
+        ConfigManager.setProperty("excel.cache.enabled", "false");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restoreCache() {
+        ConfigManager.setProperty("excel.cache.enabled", cacheEnabled);
+    }
+
+    @DataProvider(name = "stringTables")
+    public Object[][] stringTables() {
+        return new Object[][] {{false}, {true}};
+    }
+
+    @Test(dataProvider = "stringTables")
+    public void streamedRowsMatchTheWorkbook(final boolean inlineStrings) throws IOException {
+        Path file = TestWorkbooks.typedCells(inlineStrings);
+
+        List<DataRow> streamed = lazily(file);
+        List<DataRow> expected = dom(file);
+
+        assertSameRows(streamed, expected);
+        Assert.assertEquals(streamed.get(0).get("age"), "21.0");
+        Assert.assertEquals(streamed.get(1).get("active"), "true");
+        Assert.assertEquals(streamed.get(0).get("total"), "B2*2");
+        Assert.assertEquals(streamed.get(2).get("status"), "");
+        Assert.assertEquals(streamed.get(2).get("note"), "");
+    }
+
+    @Test
+    public void cellsWithoutReferencesKeepTheirColumns() throws IOException {
+        Path file = TestWorkbooks.typedCells(false);
+
+        assertSameRows(lazily(TestWorkbooks.withoutCellReferences(file)), dom(file));
+    }
+
+    @Test
+    public void missingRowsStreamAsEmptyCells() throws IOException {
+        Path file = TestWorkbooks.strings(new String[] {"id", "name"},
+                new String[] {"1", "alice"}, null, new String[] {"3", "carol"});
+
+        List<DataRow> rows = lazily(file);
+
+        Assert.assertEquals(rows.size(), 3);
+        Assert.assertEquals(rows.get(0).get("name"), "alice");
+        Assert.assertEquals(rows.get(1).get("id"), "");
+        Assert.assertEquals(rows.get(1).get("name"), "");
+        Assert.assertEquals(rows.get(2).get("name"), "carol");
+    }
+
+    @Test
+    public void snapshotRoundTripKeepsEveryRow() throws IOException {
+        Path file = TestWorkbooks.typedCells(false);
+        Path snapshot = snapshot(file);
+
+        List<DataRow> parsed = cached(file);
+        Assert.assertTrue(Files.exists(snapshot), "snapshot written");
+        FileTime written = FileTime.fromMillis(1_000_000_000_000L);
+        Files.setLastModifiedTime(snapshot, written);
+        List<DataRow> loaded = cached(file);
+
+        Assert.assertEquals(Files.getLastModifiedTime(snapshot), written, "snapshot reused");
+        assertSameRows(loaded, parsed);
+        assertSameRows(loaded, dom(file));
+    }
+
+    @Test
+    public void touchedWorkbookRestampsTheSnapshot() throws IOException {
+        Path file = TestWorkbooks.typedCells(false);
+        List<DataRow> parsed = cached(file);
+        long touched = Files.getLastModifiedTime(file).toMillis() + 60_000;
+        Files.setLastModifiedTime(file, FileTime.fromMillis(touched));
+
+        assertSameRows(cached(file), parsed);
+        try (RandomAccessFile in = new RandomAccessFile(snapshot(file).toFile(), "r")) {
+            in.seek(MODIFIED_OFFSET);
+            Assert.assertEquals(in.readLong(), touched);
+        }
+    }
+
+    @Test
+    public void changedWorkbookRebuildsTheSnapshot() throws IOException {
+        String[] headers = {"id", "name"};
+        Path file = TestWorkbooks.strings(headers, new String[] {"1", "alice"});
+        Assert.assertEquals(cached(file).get(0).get("name"), "alice");
+        long modified = Files.getLastModifiedTime(file).toMillis();
+
+        Path changed = TestWorkbooks.strings(headers, new String[] {"1", "bob"},
+                new String[] {"2", "carol"});
+        Files.copy(changed, file, StandardCopyOption.REPLACE_EXISTING);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified + 60_000));
+
+        List<DataRow> rows = cached(file);
+        Assert.assertEquals(rows.size(), 2);
+        Assert.assertEquals(rows.get(0).get("name"), "bob");
+        Assert.assertEquals(rows.get(1).get("name"), "carol");
+    }
+
+    @Test
+    public void rangeShardFromSnapshotMatchesTheFullSheet() throws IOException {
+        String[][] rows = new String[10][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new String[] {String.valueOf(i), "user" + i};
+        }
+        Path file = TestWorkbooks.strings(new String[] {"id", "name"}, rows);
+        List<DataRow> all = cached(file);
+        Assert.assertTrue(Files.exists(snapshot(file)), "snapshot written");
+
+        for (int index = 0; index < 3; index++) {
+            DataShard shard = DataShard.of(index, 3, DataShard.Mode.RANGE, null);
+            List<DataRow> sharded = new ArrayList<>();
+            for (Object[] row : TestDataSources.forPath(file.toString())
+                    .getTestData(file.toString(), TestWorkbooks.SHEET, shard)) {
+                sharded.add((DataRow) row[0]);
+            }
+            assertSameRows(sharded, shard.select(all));
+        }
+    }
+
+    @Test
+    public void snapshotKeepsRepeatedHeadersInOrder() throws IOException {
+        Path file = TestWorkbooks.strings(new String[] {"id", "name", "id", "role"},
+                new String[] {"1", "alice", "2", "admin"});
+
+        DataRow parsed = cached(file).get(0);
+        Assert.assertTrue(Files.exists(snapshot(file)), "snapshot written");
+        DataRow loaded = cached(file).get(0);
+
+        Assert.assertEquals(parsed.getSchema().getHeaders(), List.of("id", "name", "role"));
+        Assert.assertEquals(loaded.getSchema().getHeaders(), List.of("id", "name", "role"));
+        Assert.assertEquals(loaded.get("id"), "2");
+        Assert.assertEquals(loaded, parsed);
+    }
+
+    private static List<DataRow> cached(final Path file) {
+        List<DataRow> rows = new ArrayList<>();
+        for (Map<String, String> row : ExcelUtils.getTestDataAsList(file.toString(),
+                TestWorkbooks.SHEET)) {
+            rows.add((DataRow) row);
+        }
+        return rows;
+    }
+
+    private static Path snapshot(final Path file) {
+        Path snapshot = file.resolveSibling("." + file.getFileName() + "."
+                + TestWorkbooks.SHEET + ".snapshot");
+        snapshot.toFile().deleteOnExit();
+        return snapshot;
+    }
+
+    private static List<DataRow> lazily(final Path file) {
+        List<DataRow> rows = new ArrayList<>();
+        Iterator<Object[]> data = ExcelUtils.provideDataLazily(file.toString(),
+                TestWorkbooks.SHEET);
+        data.forEachRemaining(row -> rows.add((DataRow) row[0]));
+        return rows;
+    }
+
+    private static List<DataRow> dom(final Path file) {
+        List<DataRow> rows = new ArrayList<>();
+        for (Object[] row : TestDataSources.forPath(file.toString())
+                .getTestData(file.toString(), TestWorkbooks.SHEET)) {
+            rows.add((DataRow) row[0]);
+        }
+        return rows;
+    }
+
+    private static void assertSameRows(final List<DataRow> actual, final List<DataRow> expected) {
+        Assert.assertEquals(actual.size(), expected.size(), "row count");
+        for (int r = 0; r < expected.size(); r++) {
+            Assert.assertEquals(actual.get(r).getSchema().getHeaders(),
+                    expected.get(r).getSchema().getHeaders(), "headers");
+            Assert.assertEquals(actual.get(r).getSchema().width(),
+                    expected.get(r).getSchema().width(), "width");
+            for (int c = 0; c < expected.get(r).getSchema().width(); c++) {
+                Assert.assertEquals(actual.get(r).get(c), expected.get(r).get(c),
+                        "row " + r + ", column " + c);
+            }
+        }
+    }
+}
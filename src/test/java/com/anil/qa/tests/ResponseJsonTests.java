@@ -0,0 +1,89 @@
+package com.anil.qa.tests;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.anil.qa.utils.ApiUtils;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+
+/**
+ * Checks that compiled JSON paths give the same strings as RestAssured's
+ * GPath, including the cases that fall back to it.
+ */
+public class ResponseJsonTests {
+    private static final String BODY = "{"
+            + "\"name\": \"alice\","
+            + "\"text\": \"caf\\u00e9 \\\"quoted\\\"\","
+            + "\"count\": 42,"
+            + "\"big\": 12345678901,"
+            + "\"negative\": -7,"
+            + "\"price\": 1.0,"
+            + "\"ratio\": 0.5,"
+            + "\"exp\": 1e3,"
+            + "\"active\": true,"
+            + "\"disabled\": false,"
+            + "\"nothing\": null,"
+            + "\"empty\": \"\","
+            + "\"user\": {\"id\": 7, \"address\": {\"city\": \"Pune\"}, \"tags\": []},"
+            + "\"items\": [{\"name\": \"a\", \"qty\": 1}, {\"name\": \"b\", \"qty\": 2},"
+            + " {\"name\": \"c\", \"qty\": null}],"
+            + "\"matrix\": [[1, 2], [3, 4]],"
+            + "\"numbers\": [10, 20, 30],"
+            + "\"snake_case\": \"underscored\""
+            + "}";
+
+    @DataProvider(name = "paths")
+    public Object[][] paths() {
+        return new Object[][] {
+            // Compiled fields and indices
+            {"name"}, {"text"}, {"count"}, {"big"}, {"negative"}, {"active"}, {"disabled"},
+            {"empty"}, {"snake_case"}, {"user.id"}, {"user.address.city"},
+            {"items[0].name"}, {"items[1].qty"}, {"items[-1].name"}, {"items[-2].qty"},
+            {"numbers[0]"}, {"numbers[-1]"}, {"matrix[1][0]"}, {"matrix[-1][-1]"},
+            // Missing and null
+            {"missing"}, {"user.missing"}, {"nothing"}, {"items[2].qty"}, {"items[9]"},
+            // Fractional numbers fall back
+            {"price"}, {"ratio"}, {"exp"},
+            // Containers, spreads and other GPath fall back
+            {"user"}, {"user.tags"}, {"items"}, {"items.name"}, {"numbers"}, {"matrix[0]"},
+            {"items.size()"}, {"items.find { it.qty == 2 }.name"}, {"numbers.sum()"},
+        };
+    }
+
+    @Test(dataProvider = "paths")
+    public void compiledPathMatchesGPath(final String path) {
+        Response response = json(BODY);
+
+        Assert.assertEquals(ApiUtils.getJsonPath(response, path),
+                json(BODY).jsonPath().getString(path), path);
+    }
+
+    @Test
+    public void repeatedLookupsUseTheSameAnswers() {
+        Response response = json(BODY);
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(ApiUtils.getJsonPath(response, "items[-1].name"), "c");
+            Assert.assertEquals(ApiUtils.getJsonPath(response, "items.size()"), "3");
+        }
+    }
+
+    @Test
+    public void rootArrayMatchesGPath() {
+        Response response = json("[1, 2, 3]");
+
+        Assert.assertEquals(ApiUtils.getJsonPath(response, "[1]"),
+                json("[1, 2, 3]").jsonPath().getString("[1]"));
+    }
+
+    private static Response json(final String body) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType("application/json")
+                .setBody(body)
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.anil.qa.tests;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.anil.qa.utils.CsvDataSource;
+import com.anil.qa.utils.JsonLinesDataSource;
+import com.anil.qa.utils.TestDataSources;
+
+/**
+ * Reads small CSV and JSON Lines files through the test data sources.
+ */
+public class TestDataSourceTests {
+
+    @Test
+    public void csvHandlesQuotesLineBreaksAndShortRecords() throws IOException {
+        Path file = write(".csv", "\uFEFFuser,note,role\r\n"
+                + "alice,\"says \"\"hi\"\", then, leaves\",admin\r\n"
+                + "\r\n"
+                + "bob,\"two\nlines\"\r\n"
+                + "carol,,viewer");
+
+        Object[][] data = TestDataSources.provideData(file.toString(), null);
+
+        Assert.assertEquals(data.length, 3);
+        Assert.assertEquals(row(data, 0).get("user"), "alice");
+        Assert.assertEquals(row(data, 0).get("note"), "says \"hi\", then, leaves");
+        Assert.assertEquals(row(data, 1).get("note"), "two\nlines");
+        Assert.assertEquals(row(data, 1).get("role"), "");
+        Assert.assertEquals(row(data, 2).get("note"), "");
+        Assert.assertEquals(row(data, 2).get("role"), "viewer");
+        Assert.assertTrue(TestDataSources.forPath(file.toString()) instanceof CsvDataSource);
+    }
+
+    @Test
+    public void jsonLinesGivesEveryRowEveryColumn() throws IOException {
+        Path file = writeJsonLines();
+
+        Object[][] data = new JsonLinesDataSource().getTestData(file.toString(), null);
+
+        Assert.assertEquals(data.length, 2);
+        Assert.assertEquals(row(data, 0).get("id"), "1");
+        Assert.assertEquals(row(data, 0).get("name"), "alice");
+        Assert.assertEquals(row(data, 0).get("tags"), "");
+        Assert.assertEquals(row(data, 0).keySet(), row(data, 1).keySet());
+        Assert.assertEquals(row(data, 1).get("tags"), "[\"a\",\"b\"]");
+        Assert.assertEquals(row(data, 1).get("active"), "true");
+        Assert.assertEquals(row(data, 1).get("name"), "");
+    }
+
+    @Test
+    public void lazyJsonLinesRowsHaveTheColumnsSeenSoFar() throws IOException {
+        Path file = writeJsonLines();
+
+        Iterator<Object[]> rows = new JsonLinesDataSource()
+                .getTestDataIterator(file.toString(), null);
+
+        Map<?, ?> first = (Map<?, ?>) rows.next()[0];
+        Map<?, ?> second = (Map<?, ?>) rows.next()[0];
+        Assert.assertFalse(rows.hasNext());
+        // Documented: a field first seen on a later line is absent from earlier rows
+        Assert.assertNull(first.get("tags"));
+        Assert.assertFalse(first.containsKey("tags"));
+        Assert.assertEquals(second.get("name"), "");
+        Assert.assertEquals(second.get("tags"), "[\"a\",\"b\"]");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsUnknownExtension() {
+        TestDataSources.forPath("data.parquet");
+    }
+
+    private static Path writeJsonLines() throws IOException {
+        return write(".jsonl", "{\"id\":1,\"name\":\"alice\"}\n"
+                + "\n"
+                + "{\"id\":2,\"tags\":[\"a\",\"b\"],\"active\":true,\"name\":null}\n");
+    }
+
+    private static Map<?, ?> row(final Object[][] data, final int index) {
+        return (Map<?, ?>) data[index][0];
+    }
+
+    private static Path write(final String suffix, final String content) throws IOException {
+        Path file = Files.createTempFile("test-data", suffix);
+        file.toFile().deleteOnExit();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,133 @@
+package com.anil.qa.tests;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * Writes small .xlsx workbooks for the Excel test data tests.
+ */
+final class TestWorkbooks {
+    /** Sheet name used by every workbook. */
+    static final String SHEET = "Users";
+
+    private TestWorkbooks() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Creates a temp workbook whose sheet covers each cell type: shared (or,
+     * when streamed, inline) strings, numbers, booleans, formulas, errors and
+     * blank cells.
+     * @param streamed true to write with SXSSF, which uses inline strings
+     * @return the workbook file
+     */
+    static Path typedCells(final boolean streamed) throws IOException {
+        Workbook workbook = streamed ? new SXSSFWorkbook() : new XSSFWorkbook();
+        try {
+            Sheet sheet = workbook.createSheet(SHEET);
+            header(sheet, "name", "age", "score", "active", "total", "status", "note");
+            for (int i = 1; i <= 5; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue(i % 2 == 0 ? "shared" : "user" + i);
+                row.createCell(1).setCellValue(20 + i);
+                row.createCell(2).setCellValue(i / 4.0);
+                row.createCell(3).setCellValue(i % 2 == 0);
+                row.createCell(4).setCellFormula("B" + (i + 1) + "*2");
+                if (i == 3) {
+                    row.createCell(5).setCellErrorValue(FormulaError.DIV0.getCode());
+                } else {
+                    row.createCell(5).setCellValue("ok");
+                }
+                // Column 6 is left blank on odd rows
+                if (i % 2 == 0) {
+                    row.createCell(6).setCellValue("note " + i);
+                }
+            }
+            return save(workbook);
+        } finally {
+            workbook.close();
+            if (workbook instanceof SXSSFWorkbook) {
+                ((SXSSFWorkbook) workbook).dispose();
+            }
+        }
+    }
+
+    /**
+     * Creates a temp workbook with the given header and rows of strings.
+     * @param headers the header row
+     * @param rows the data rows; a null row is left out of the sheet
+     * @return the workbook file
+     */
+    static Path strings(final String[] headers, final String[]... rows) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet(SHEET);
+            header(sheet, headers);
+            for (int r = 0; r < rows.length; r++) {
+                if (rows[r] == null) {
+                    continue;
+                }
+                Row row = sheet.createRow(r + 1);
+                for (int c = 0; c < rows[r].length; c++) {
+                    row.createCell(c).setCellValue(rows[r][c]);
+                }
+            }
+            return save(workbook);
+        }
+    }
+
+    /**
+     * Copies a workbook with the r attributes removed from its rows and
+     * cells, as some generators write them.
+     * @param source the workbook to copy
+     * @return the copy
+     */
+    static Path withoutCellReferences(final Path source) throws IOException {
+        Path target = Files.createTempFile("test-data", ".xlsx");
+        target.toFile().deleteOnExit();
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(source));
+             ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(target))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                byte[] content = in.readAllBytes();
+                if (entry.getName().startsWith("xl/worksheets/")) {
+                    String xml = new String(content, StandardCharsets.UTF_8)
+                            .replaceAll("(<(?:row|c)\\b[^>]*?) r=\"[A-Z]*\\d+\"", "$1");
+                    content = xml.getBytes(StandardCharsets.UTF_8);
+                }
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                out.write(content);
+                out.closeEntry();
+            }
+        }
+        return target;
+    }
+
+    private static void header(final Sheet sheet, final String... names) {
+        Row row = sheet.createRow(0);
+        for (int c = 0; c < names.length; c++) {
+            row.createCell(c).setCellValue(names[c]);
+        }
+    }
+
+    private static Path save(final Workbook workbook) throws IOException {
+        Path file = Files.createTempFile("test-data", ".xlsx");
+        file.toFile().deleteOnExit();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            workbook.write(out);
+        }
+        return file;
+    }
+}
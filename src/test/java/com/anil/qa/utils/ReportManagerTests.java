@@ -0,0 +1,220 @@
+package com.anil.qa.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.model.Log;
+
+/**
+ * Drives the asynchronous report writer from many threads. Lives in the
+ * utils package to reach the writer's queue and thread.
+ */
+public class ReportManagerTests {
+    private static final String CAPACITY = "report.queue.capacity";
+    private static final String POLICY = "report.queue.policy";
+
+    private String capacity;
+    private String policy;
+    private ExecutorService executor;
+
+    @BeforeClass
+    public void initReports() {
+        capacity = ConfigManager.getProperty(CAPACITY, "10000");
+        policy = ConfigManager.getProperty(POLICY, "block");
+        ReportManager.initReports();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restoreWriter() throws InterruptedException {
+        restartWriter(capacity, policy);
+    }
+
+    @BeforeMethod
+    public void startExecutor() throws InterruptedException {
+        executor = Executors.newFixedThreadPool(8);
+        restartWriter("10000", "block");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void logsFromManyThreadsKeepTheirOrder() throws Exception {
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            results.add(executor.submit(() -> {
+                ReportManager.createTest("thread " + thread);
+                for (int i = 0; i < 500; i++) {
+                    ReportManager.logInfo(thread + ":" + i);
+                }
+                ReportManager.flushReports();
+                return details(ReportManager.currentTest());
+            }));
+        }
+
+        for (int t = 0; t < results.size(); t++) {
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                expected.add(t + ":" + i);
+            }
+            Assert.assertEquals(results.get(t).get(30, TimeUnit.SECONDS), expected);
+        }
+    }
+
+    @Test
+    public void flushWaitsForEveryEarlierEvent() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ReportManager.createTest("flush");
+        ReportManager.submit(() -> await(release), false);
+        for (int i = 0; i < 100; i++) {
+            ReportManager.logInfo("entry " + i);
+        }
+
+        Future<?> flush = executor.submit(ReportManager::flushReports);
+        Thread.sleep(200);
+        Assert.assertFalse(flush.isDone(), "flushed before the queued events were written");
+        release.countDown();
+        flush.get(10, TimeUnit.SECONDS);
+
+        Assert.assertEquals(details(ReportManager.currentTest()).size(), 100);
+    }
+
+    @Test
+    public void fullQueueBlocksCallersUntilTheWriterCatchesUp() throws Exception {
+        restartWriter("4", "block");
+        CountDownLatch release = new CountDownLatch(1);
+        ReportManager.submit(() -> await(release), false);
+
+        Future<List<String>> logger = executor.submit(() -> {
+            ReportManager.createTest("blocked");
+            for (int i = 0; i < 20; i++) {
+                ReportManager.logInfo("entry " + i);
+            }
+            ReportManager.flushReports();
+            return details(ReportManager.currentTest());
+        });
+        Thread.sleep(200);
+        Assert.assertFalse(logger.isDone(), "caller was not held back by a full queue");
+        release.countDown();
+
+        Assert.assertEquals(logger.get(10, TimeUnit.SECONDS).size(), 20);
+    }
+
+    @Test
+    public void dropPolicyCountsDropsButKeepsTestsAndFlushes() throws Exception {
+        restartWriter("4", "drop");
+        ReportManager.createTest("dropping");
+        ReportManager.flushReports();
+        CountDownLatch release = new CountDownLatch(1);
+        ReportManager.submit(() -> await(release), false);
+        long droppedBefore = ReportManager.droppedCount();
+
+        // The blocker holds one permit, so three entries fit and seven drop
+        for (int i = 0; i < 10; i++) {
+            ReportManager.logInfo("entry " + i);
+        }
+        Assert.assertEquals(ReportManager.droppedCount() - droppedBefore, 7);
+
+        Future<ExtentTest> created = executor.submit(() -> {
+            ReportManager.createTest("kept");
+            ReportManager.flushReports();
+            return ReportManager.currentTest();
+        });
+        Thread.sleep(200);
+        Assert.assertFalse(created.isDone(), "createTest or flush did not wait for room");
+        release.countDown();
+
+        ExtentTest kept = created.get(10, TimeUnit.SECONDS);
+        Assert.assertNotNull(kept, "createTest was dropped");
+        Assert.assertEquals(kept.getModel().getName(), "kept");
+        Assert.assertEquals(details(ReportManager.currentTest()),
+                List.of("entry 0", "entry 1", "entry 2"));
+    }
+
+    @Test
+    public void parkedWriterIsWokenBySubmit() throws Exception {
+        long waited = 0;
+        for (int i = 0; i < 20; i++) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (!ReportManager.isWriterWaiting() && System.nanoTime() < deadline) {
+                Thread.yield();
+            }
+            CountDownLatch written = new CountDownLatch(1);
+            long start = System.nanoTime();
+            ReportManager.submit(written::countDown, false);
+            Assert.assertTrue(written.await(1, TimeUnit.SECONDS));
+            waited += System.nanoTime() - start;
+        }
+
+        // Without the unpark each event would wait out the writer's 100ms park
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(waited) < 1000,
+                "events waited " + TimeUnit.NANOSECONDS.toMillis(waited) + "ms in total");
+    }
+
+    @Test
+    public void deadWriterLeavesQueuedEventsToTheCaller() throws Exception {
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ReportManager.submit(() -> {
+            started.countDown();
+            await(release);
+            written.add("first");
+        }, false);
+        ReportManager.submit(() -> written.add("second"), false);
+        ReportManager.submit(() -> written.add("third"), false);
+        Assert.assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        // Interrupting the writer ends it inside the first event
+        ReportManager.stopWriter();
+        Thread caller = Thread.currentThread();
+        ReportManager.submit(() -> written.add(Thread.currentThread() == caller
+                ? "fourth on caller"
+                : "fourth on " + Thread.currentThread().getName()), false);
+
+        Assert.assertEquals(written, List.of("first", "second", "third", "fourth on caller"));
+    }
+
+    private static void restartWriter(final String queueCapacity, final String queuePolicy)
+            throws InterruptedException {
+        ReportManager.stopWriter();
+        // Apply anything a stopped writer left behind before replacing it
+        ReportManager.submit(() -> { }, false);
+        ConfigManager.setProperty(CAPACITY, queueCapacity);
+        ConfigManager.setProperty(POLICY, queuePolicy);
+        ReportManager.startWriter();
+    }
+
+    private static List<String> details(final ExtentTest test) {
+        return test.getModel().getLogs().stream()
+                .map(Log::getDetails)
+                .collect(Collectors.toList());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            // Keep the flag so a stopping writer still ends
+            Thread.currentThread().interrupt();
+        }
+    }
+}